@@ -0,0 +1,131 @@
+package com.groceryapp.service.serviceImpl;
+
+import com.groceryapp.DailyEssentialsServiceApplication;
+import com.groceryapp.service.InventoryService;
+import com.groceryapp.service.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform against virtual threads for request handling at high concurrency. Every invocation serves a burst of
+ * {@value #REQUESTS} simultaneous requests, each of which first waits {@code ioMillis} on a simulated remote call and
+ * then does its database work through the services, with the whole application context running (without the web
+ * server).
+ * <p>
+ * Platform requests run on a pool of 200 threads, Tomcat's default maximum. Virtual requests each get their own
+ * virtual thread, and the context runs with {@code spring.threads.virtual.enabled} to match. The inventory task
+ * executor, which {@code getAllInventory} submits its listing to, runs on virtual threads in both cases, and its queue
+ * is sized to hold a whole burst, so no listing is rejected. Database work is bounded by the connection pool either
+ * way, so the difference shows up in how much of the simulated I/O overlaps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutionModelBenchmark {
+
+    private static final int REQUESTS = 2000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int SKUS = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "platform", "virtual" })
+    private String threads;
+
+    @Param({ "0", "10" })
+    private int ioMillis;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private SearchService searchService;
+    private SyntheticCatalog catalog;
+    private ExecutorService requestExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threads);
+        context = new SpringApplicationBuilder(DailyEssentialsServiceApplication.class)
+                .web(WebApplicationType.NONE).logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:threads", "--logging.level.root=WARN",
+                        "--search.engine=database", "--search.cache.enabled=false",
+                        "--spring.threads.virtual.enabled=" + virtual, "--inventory.async.queue-capacity=" + REQUESTS);
+        inventoryService = context.getBean(InventoryService.class);
+        searchService = context.getBean(SearchService.class);
+        catalog = new SyntheticCatalog(SKUS);
+        inventoryService.addInventoryBatch(catalog.requests(0, SKUS));
+        requestExecutor = virtual ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdown();
+        context.close();
+    }
+
+    /**
+     * A search by brand per request, on the request thread.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void search() throws Exception {
+        burst(request -> searchService.searchItems(List.of(SyntheticCatalog.brand(request % catalog.brands())), null,
+                null, null, PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "price"))));
+    }
+
+    /**
+     * A full inventory listing per request, submitted to the inventory task executor and awaited.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void listInventory() throws Exception {
+        burst(request -> inventoryService.getAllInventory().join());
+    }
+
+    private void burst(Request request) throws Exception {
+        List<Future<Object>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int id = i;
+            Callable<Object> call = () -> {
+                Thread.sleep(ioMillis);
+                return request.handle(id);
+            };
+            responses.add(requestExecutor.submit(call));
+        }
+        for (Future<Object> response : responses) {
+            response.get();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        Object handle(int id);
+    }
+}
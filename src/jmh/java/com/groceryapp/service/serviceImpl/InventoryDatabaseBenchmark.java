@@ -0,0 +1,109 @@
+package com.groceryapp.service.serviceImpl;
+
+import com.groceryapp.DailyEssentialsServiceApplication;
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.dto.response.common.PaginatedResponse;
+import com.groceryapp.dto.response.inventory.InventoryResponse;
+import com.groceryapp.dto.response.search.SearchResultItem;
+import com.groceryapp.service.InventoryService;
+import com.groceryapp.service.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InventoryServiceImpl#addInventory} and database-backed searches against the embedded H2 database, with the
+ * whole application context running (without the web server). The catalog is seeded through the batch endpoint's
+ * service method before measuring; the search result cache is off so every search reaches the database.
+ * <p>
+ * Seeding a million SKUs takes a few minutes and about 2 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InventoryDatabaseBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int skus;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private SearchService searchService;
+    private SyntheticCatalog catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DailyEssentialsServiceApplication.class)
+                .web(WebApplicationType.NONE).logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark", "--logging.level.root=WARN",
+                        "--search.engine=database", "--search.cache.enabled=false");
+        inventoryService = context.getBean(InventoryService.class);
+        searchService = context.getBean(SearchService.class);
+
+        catalog = new SyntheticCatalog(skus);
+        for (int from = 0; from < skus; from += Constants.MAX_BATCH_SIZE) {
+            inventoryService.addInventoryBatch(catalog.requests(from, Math.min(skus, from + Constants.MAX_BATCH_SIZE)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Traffic {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    /**
+     * Restocks a random existing SKU: the upsert path that updates the item and inventory rows in place.
+     */
+    @Benchmark
+    public InventoryResponse addInventory(Traffic traffic) {
+        int sku = traffic.random.nextInt(catalog.size());
+        InventoryRequest request = InventoryRequest.builder().brand(catalog.brandOf(sku))
+                .category(catalog.categoryOf(sku)).price(catalog.priceOf(sku)).quantity(1 + traffic.random.nextInt(10))
+                .build();
+        return inventoryService.addInventory(request);
+    }
+
+    @Benchmark
+    public PaginatedResponse<SearchResultItem> searchByBrand(Traffic traffic) {
+        String brand = SyntheticCatalog.brand(traffic.random.nextInt(catalog.brands()));
+        return searchService.searchItems(List.of(brand), null, null, null,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "price")));
+    }
+
+    @Benchmark
+    public PaginatedResponse<SearchResultItem> searchByCategoryAndPrice(Traffic traffic) {
+        String category = SyntheticCatalog.category(traffic.random.nextInt(SyntheticCatalog.CATEGORIES));
+        return searchService.searchItems(null, List.of(category), 50.0, 450.0,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "price")));
+    }
+}
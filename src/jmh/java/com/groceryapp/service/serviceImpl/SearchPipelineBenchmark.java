@@ -0,0 +1,107 @@
+package com.groceryapp.service.serviceImpl;
+
+import com.groceryapp.dto.response.common.PaginatedResponse;
+import com.groceryapp.dto.response.search.SearchResultItem;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.service.search.SearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Phases of the in-memory ({@code search.engine=scan}) search path on a synthetic catalog: filtering with the
+ * compiled {@link SearchQuery} predicate in {@link SearchServiceImpl#applyFilters}, selecting the first page with
+ * {@link SearchServiceImpl#applySorting}, and mapping the page to response rows, separately and chained. Throughput
+ * and sampled latency percentiles are reported together; add {@code -prof gc} for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchPipelineBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "1000", "100000", "1000000" })
+    private int skus;
+
+    /**
+     * brands: two brands; categoryAndPrice: two categories within a price range; none: the whole catalog.
+     */
+    @Param({ "brands", "categoryAndPrice", "none" })
+    private String filter;
+
+    @Param({ "price", "quantity" })
+    private String sortBy;
+
+    private SearchServiceImpl searchService;
+    private List<Inventory> inventory;
+    private List<String> brands;
+    private List<String> categories;
+    private Double minPrice;
+    private Double maxPrice;
+    private SearchQuery query;
+    private List<Inventory> filtered;
+    private List<Inventory> page;
+
+    @Setup
+    public void setUp() {
+        SyntheticCatalog catalog = new SyntheticCatalog(skus);
+        inventory = catalog.inventory();
+        if ("brands".equals(filter)) {
+            brands = List.of(SyntheticCatalog.brand(0), SyntheticCatalog.brand(catalog.brands() - 1));
+        } else if ("categoryAndPrice".equals(filter)) {
+            categories = List.of(SyntheticCatalog.category(3), SyntheticCatalog.category(42));
+            minPrice = 100.0;
+            maxPrice = 300.0;
+        }
+        query = SearchQuery.of(brands, categories, minPrice, maxPrice, Sort.Order.asc(sortBy));
+        searchService = new SearchServiceImpl(null, null, null, null, null);
+
+        filtered = filter();
+        page = sort();
+    }
+
+    @Benchmark
+    public List<Inventory> filter() {
+        return searchService.applyFilters(inventory, query.filter());
+    }
+
+    @Benchmark
+    public List<Inventory> sort() {
+        return searchService.applySorting(filtered, query.comparator(), Math.min(PAGE_SIZE, filtered.size()));
+    }
+
+    @Benchmark
+    public PaginatedResponse<SearchResultItem> mapPage() {
+        return toPage(page, filtered.size());
+    }
+
+    @Benchmark
+    public PaginatedResponse<SearchResultItem> pipeline() {
+        List<Inventory> matches = filter();
+        return toPage(searchService.applySorting(matches, query.comparator(), Math.min(PAGE_SIZE, matches.size())),
+                matches.size());
+    }
+
+    private PaginatedResponse<SearchResultItem> toPage(List<Inventory> rows, int total) {
+        List<SearchResultItem> results = rows.stream().map(searchService::mapToSearchResultItem)
+                .collect(Collectors.toList());
+        return PaginatedResponse.of(results, total, (int) Math.ceil((double) total / PAGE_SIZE), 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,112 @@
+package com.groceryapp.service.serviceImpl;
+
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic catalog of {@code skus} items for the benchmarks: {@value #CATEGORIES} categories and as many brands
+ * as it takes, every brand selling one item per category. Prices and quantities come from a fixed seed, so runs are
+ * comparable.
+ */
+final class SyntheticCatalog {
+
+    static final int CATEGORIES = 100;
+
+    private static final long SEED = 7;
+
+    private final int skus;
+    private final double[] prices;
+    private final int[] quantities;
+
+    SyntheticCatalog(int skus) {
+        this.skus = skus;
+        this.prices = new double[skus];
+        this.quantities = new int[skus];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int sku = 0; sku < skus; sku++) {
+            prices[sku] = Math.round(random.nextDouble(1, 500) * 100) / 100.0;
+            quantities[sku] = random.nextInt(500);
+        }
+    }
+
+    int size() {
+        return skus;
+    }
+
+    int brands() {
+        return (skus + CATEGORIES - 1) / CATEGORIES;
+    }
+
+    static String brand(int index) {
+        return String.format("Brand-%06d", index);
+    }
+
+    static String category(int index) {
+        return String.format("Category-%02d", index);
+    }
+
+    String brandOf(int sku) {
+        return brand(sku / CATEGORIES);
+    }
+
+    String categoryOf(int sku) {
+        return category(sku % CATEGORIES);
+    }
+
+    double priceOf(int sku) {
+        return prices[sku];
+    }
+
+    /**
+     * The catalog as detached inventory entities, for the in-memory search phases.
+     */
+    List<Inventory> inventory() {
+        List<Brand> brands = new ArrayList<>(brands());
+        for (int i = 0; i < brands(); i++) {
+            Brand brand = new Brand();
+            brand.setName(brand(i));
+            brands.add(brand);
+        }
+        List<Category> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName(category(i));
+            categories.add(category);
+        }
+
+        List<Inventory> inventory = new ArrayList<>(skus);
+        for (int sku = 0; sku < skus; sku++) {
+            Item item = new Item();
+            item.setBrand(brands.get(sku / CATEGORIES));
+            item.setCategory(categories.get(sku % CATEGORIES));
+            item.setPrice(prices[sku]);
+
+            Inventory row = new Inventory();
+            row.setId((long) sku);
+            row.setItem(item);
+            row.setQuantity(quantities[sku]);
+            row.updateStatus();
+            inventory.add(row);
+        }
+        return inventory;
+    }
+
+    /**
+     * The SKUs {@code from} (inclusive) to {@code to} (exclusive) as restock requests, for seeding a database.
+     */
+    List<InventoryRequest> requests(int from, int to) {
+        List<InventoryRequest> requests = new ArrayList<>(to - from);
+        for (int sku = from; sku < to; sku++) {
+            requests.add(InventoryRequest.builder().brand(brandOf(sku)).category(categoryOf(sku)).price(prices[sku])
+                    .quantity(quantities[sku] + 1).build());
+        }
+        return requests;
+    }
+}
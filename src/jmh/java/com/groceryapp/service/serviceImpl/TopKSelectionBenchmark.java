@@ -0,0 +1,92 @@
+package com.groceryapp.service.serviceImpl;
+
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+import com.groceryapp.service.search.SearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the old full sort of the filtered inventory with the bounded-heap top-K selection used by
+ * {@link SearchServiceImpl#applySorting}. Run with {@code -prof gc} to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopKSelectionBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int rows;
+
+    @Param({ "0", "9" })
+    private int page;
+
+    @Param({ "price", "quantity" })
+    private String sortBy;
+
+    private List<Inventory> inventory;
+    private Comparator<Inventory> comparator;
+    private SearchServiceImpl searchService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        Brand brand = new Brand();
+        brand.setName("Brand");
+        Category category = new Category();
+        category.setName("Category");
+
+        inventory = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Item item = new Item();
+            item.setBrand(brand);
+            item.setCategory(category);
+            item.setPrice(Math.round(random.nextDouble() * 50_000) / 100.0);
+
+            Inventory row = new Inventory();
+            row.setId((long) i);
+            row.setItem(item);
+            row.setQuantity(random.nextInt(500));
+            inventory.add(row);
+        }
+        comparator = SearchQuery.comparator(Sort.Order.asc(sortBy));
+        searchService = new SearchServiceImpl(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Inventory> fullSort() {
+        return inventory.stream().sorted(comparator)
+                .skip((long) page * PAGE_SIZE).limit(PAGE_SIZE).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Inventory> topK() {
+        int limit = (page + 1) * PAGE_SIZE;
+        return searchService.applySorting(inventory, comparator, limit).stream().skip((long) page * PAGE_SIZE)
+                .limit(PAGE_SIZE).collect(Collectors.toList());
+    }
+}
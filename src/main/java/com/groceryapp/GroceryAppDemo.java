@@ -9,6 +9,7 @@ import com.groceryapp.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
@@ -18,7 +19,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
+/**
+ * Seeds a handful of items and logs a few example searches at startup. Opt-in with {@code demo.enabled=true}; use the
+ * {@link com.groceryapp.service.catalog.SyntheticCatalogGenerator synthetic catalog} for realistic data volumes.
+ */
 @Component
+@ConditionalOnProperty(name = "demo.enabled", havingValue = "true")
 @RequiredArgsConstructor
 @Slf4j
 public class GroceryAppDemo implements CommandLineRunner {
@@ -1,15 +1,19 @@
 package com.groceryapp.config;
 
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.utils.BoundedTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @EnableJpaAuditing
-@EnableAsync
 public class AppConfig {
 
     @Bean
@@ -22,4 +26,39 @@ public class AppConfig {
         };
     }
 
+    /**
+     * Executor for asynchronous inventory work: one virtual thread per task, with at most
+     * {@code inventory.async.concurrency-limit} tasks running at once, by default the size of the Hikari pool, so a
+     * burst of requests waits here instead of queueing for database connections. At most
+     * {@code inventory.async.queue-capacity} tasks wait for a slot; beyond that {@code execute} throws
+     * {@link org.springframework.core.task.TaskRejectedException} at once rather than blocking the caller.
+     */
+    @Bean(Constants.INVENTORY_TASK_EXECUTOR)
+    public AsyncTaskExecutor inventoryTaskExecutor(
+            @Value("${inventory.async.concurrency-limit:10}") int concurrencyLimit,
+            @Value("${inventory.async.queue-capacity:100}") int queueCapacity) {
+        BoundedTaskExecutor executor = new BoundedTaskExecutor("inventory-async-", concurrencyLimit, queueCapacity);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Gives Spring MVC's async support, which writes the long-lived NDJSON inventory stream, its own unbounded
+     * executor, one thread per stream (virtual with {@code spring.threads.virtual.enabled}). Streams must not share the
+     * bounded inventory task executor, where a few slow clients would use up every slot and starve inventory listings.
+     * Defining that executor turns off Spring Boot's default task executor, so this one is set explicitly.
+     */
+    @Bean
+    public WebMvcConfigurer asyncSupportConfigurer(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        SimpleAsyncTaskExecutor streamExecutor = new SimpleAsyncTaskExecutor("mvc-async-");
+        streamExecutor.setVirtualThreads(virtualThreads);
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(streamExecutor);
+            }
+        };
+    }
+
 }
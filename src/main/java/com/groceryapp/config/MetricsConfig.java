@@ -0,0 +1,90 @@
+package com.groceryapp.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groceryapp.service.catalog.CatalogCache;
+import com.groceryapp.service.inventory.InventoryChangeFeed;
+import com.groceryapp.service.inventory.InventoryWriteBehind;
+import com.groceryapp.service.search.SearchMetrics;
+import com.groceryapp.service.search.SearchResultCache;
+import com.groceryapp.service.serviceImpl.SearchServiceImpl;
+import com.groceryapp.validations.search.SearchQueryParser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Swaps the Jackson converter for one that times the serialization of search responses.
+     */
+    @Bean
+    public WebMvcConfigurer searchSerializationTiming(ObjectMapper objectMapper, SearchMetrics searchMetrics) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter
+                        ? new SearchSerializationTimingConverter(objectMapper, searchMetrics) : converter);
+            }
+        };
+    }
+
+    /**
+     * Publishes the counters the caches, search coalescing, write-behind queue and stock stream already keep as
+     * gauges, e.g. {@code search.cache.hit.ratio} or {@code inventory.stream.subscribers}. Gauges read the component's
+     * {@code stats()} when they are scraped, so nothing is added to the request path.
+     */
+    @Bean
+    public MeterBinder componentStatsMetrics(CatalogCache catalogCache, SearchResultCache searchCache,
+            SearchServiceImpl searchService, SearchQueryParser queryParser, InventoryWriteBehind writeBehind,
+            InventoryChangeFeed changeFeed) {
+        return registry -> {
+            bindCatalogCache(registry, catalogCache);
+            bindStats(registry, "search.cache", searchCache::stats);
+            bindStats(registry, "search.coalescing", searchService::coalescingStats);
+            bindStats(registry, "search.plan", queryParser::stats);
+            bindStats(registry, "inventory.write-behind", writeBehind::stats);
+            bindStats(registry, "inventory.stream", changeFeed::stats);
+        };
+    }
+
+    private static void bindCatalogCache(MeterRegistry registry, CatalogCache catalogCache) {
+        for (String cache : catalogCache.stats().keySet()) {
+            functionCounter(registry, "catalog.cache.hits", catalogCache, cache, CacheStats::hitCount);
+            functionCounter(registry, "catalog.cache.misses", catalogCache, cache, CacheStats::missCount);
+            functionCounter(registry, "catalog.cache.evictions", catalogCache, cache, CacheStats::evictionCount);
+        }
+    }
+
+    private static void functionCounter(MeterRegistry registry, String name, CatalogCache catalogCache, String cache,
+            ToLongFunction<CacheStats> count) {
+        FunctionCounter.builder(name, catalogCache, source -> count.applyAsLong(source.stats().get(cache)))
+                .tag("cache", cache).register(registry);
+    }
+
+    private static void bindStats(MeterRegistry registry, String prefix, Supplier<Map<String, Number>> stats) {
+        for (String key : stats.get().keySet()) {
+            Gauge.builder(prefix + "." + dotted(key), stats, source -> source.get().get(key).doubleValue())
+                    .strongReference(true).register(registry);
+        }
+    }
+
+    /**
+     * {@code hitRatio} to {@code hit.ratio}, following Micrometer's dot-separated naming.
+     */
+    private static String dotted(String key) {
+        return key.replaceAll("([a-z0-9])([A-Z])", "$1.$2").toLowerCase();
+    }
+}
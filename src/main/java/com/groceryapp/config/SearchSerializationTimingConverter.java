@@ -0,0 +1,44 @@
+package com.groceryapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groceryapp.constant.search.SearchPhase;
+import com.groceryapp.service.search.SearchMetrics;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson message converter that records the time spent writing a search response in the {@code serialize} phase of
+ * {@link SearchMetrics}. Search responses are recognised by the {@link SearchMetrics#SHAPE_ATTRIBUTE} request
+ * attribute set by the search controller; every other response is written without timing.
+ */
+class SearchSerializationTimingConverter extends MappingJackson2HttpMessageConverter {
+
+    private final SearchMetrics searchMetrics;
+
+    SearchSerializationTimingConverter(ObjectMapper objectMapper, SearchMetrics searchMetrics) {
+        super(objectMapper);
+        this.searchMetrics = searchMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object shape = attributes != null
+                ? attributes.getAttribute(SearchMetrics.SHAPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+        if (!(shape instanceof SearchMetrics.Shape searchShape)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            searchMetrics.record(SearchPhase.SERIALIZE, searchShape, System.nanoTime() - start);
+        }
+    }
+}
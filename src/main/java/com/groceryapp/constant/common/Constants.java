@@ -13,4 +13,7 @@ public class Constants {
     public static final String DEFAULT_SORT_FIELD = "price";
     public static final String DEFAULT_SORT_DIRECTION = "asc";
     public static final String QUANTITY="quantity";
+    public static final int MAX_BATCH_SIZE = 5000;
+    public static final int MAX_CHANGES_LIMIT = 1000;
+    public static final String INVENTORY_TASK_EXECUTOR = "inventoryTaskExecutor";
 }
\ No newline at end of file
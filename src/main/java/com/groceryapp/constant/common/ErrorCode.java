@@ -7,7 +7,9 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum ErrorCode {
     INVALID_REQUEST(1000, "Invalid request parameters"), INVENTORY_ITEM_NOT_FOUND(2001, "Inventory item not found"),
-    ITEM_NOT_FOUND(2002, "Item Not found"), INSUFFICIENT_INVENTORY(2003, "Insufficient Inventory");
+    ITEM_NOT_FOUND(2002, "Item Not found"), INSUFFICIENT_INVENTORY(2003, "Insufficient Inventory"),
+    RESERVATION_NOT_FOUND(2004, "Reservation not found"), REQUEST_TIMEOUT(5001, "Request timed out"),
+    SERVICE_BUSY(5002, "Too many requests in progress, try again later");
 
     private final int code;
     private final String message;
@@ -0,0 +1,5 @@
+package com.groceryapp.constant.inventory;
+
+public enum ReservationStatus {
+    RESERVED, CONFIRMED, RELEASED
+}
@@ -0,0 +1,9 @@
+package com.groceryapp.constant.inventory;
+
+/**
+ * Kind of a stock change as seen by one subscriber: a status transition between AVAILABLE and OUT_OF_STOCK, a drop
+ * to or below the subscriber's low-stock threshold, or any other quantity change.
+ */
+public enum StockEventType {
+    STATUS_CHANGED, LOW_STOCK, STOCK_CHANGED
+}
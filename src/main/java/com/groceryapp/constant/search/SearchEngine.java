@@ -0,0 +1,19 @@
+package com.groceryapp.constant.search;
+
+/**
+ * Strategy used by the search service to answer a query.
+ */
+public enum SearchEngine {
+    /**
+     * Filters, sorts and pages inside the database; only the requested page is loaded.
+     */
+    DATABASE,
+    /**
+     * Loads the whole inventory and filters, sorts and pages it in memory.
+     */
+    SCAN,
+    /**
+     * Answers from the resident columnar {@code InventorySearchIndex}, without touching the database.
+     */
+    INDEX
+}
@@ -0,0 +1,44 @@
+package com.groceryapp.constant.search;
+
+/**
+ * Phases of a search timed by {@code SearchMetrics}. Which phases a search goes through depends on the
+ * {@link SearchEngine}.
+ */
+public enum SearchPhase {
+    /**
+     * The whole search as seen by the service, including cache lookups and waiting for a coalesced execution.
+     */
+    TOTAL,
+    /**
+     * {@link SearchEngine#SCAN}: loading the whole inventory.
+     */
+    LOAD,
+    /**
+     * {@link SearchEngine#SCAN}: applying the brand, category and price filters in memory.
+     */
+    FILTER,
+    /**
+     * {@link SearchEngine#SCAN}: selecting the requested page in sort order.
+     */
+    SORT,
+    /**
+     * Mapping the page's rows to search results.
+     */
+    PAGE,
+    /**
+     * {@link SearchEngine#DATABASE}: the page query, and the count query for offset pages.
+     */
+    QUERY,
+    /**
+     * {@link SearchEngine#INDEX}: answering from the resident index.
+     */
+    INDEX,
+    /**
+     * Writing the response as JSON.
+     */
+    SERIALIZE;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -1,18 +1,43 @@
 package com.groceryapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.constant.inventory.StockEventType;
 import com.groceryapp.dto.request.inventory.InventoryRequest;
 import com.groceryapp.dto.response.common.GenericResponseWrapper;
+import com.groceryapp.dto.response.inventory.InventoryBatchResponse;
+import com.groceryapp.dto.response.inventory.InventoryChangesResponse;
 import com.groceryapp.dto.response.inventory.InventoryResponse;
+import com.groceryapp.dto.response.inventory.StockEvent;
+import com.groceryapp.exception.ServiceException;
 import com.groceryapp.service.InventoryService;
+import com.groceryapp.service.inventory.InventoryChangeFeed;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.inventory.InventoryWriteBehind;
+import com.groceryapp.service.inventory.StockEventFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/v1/inventory")
@@ -20,22 +45,168 @@ import java.util.concurrent.ExecutionException;
 @Slf4j
 public class InventoryController {
 
+    private static final String NDJSON_ETAG_SUFFIX = "-ndjson";
+    private static final String RESYNC_EVENT = "RESYNC";
+    private static final String STREAM_OPENED_COMMENT = "stream opened";
+
     private final InventoryService inventoryService;
+    private final InventoryWriteBehind writeBehind;
+    private final InventoryVersions inventoryVersions;
+    private final InventoryChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+
+    @Value("${inventory.list.timeout:PT30S}")
+    private Duration listTimeout = Duration.ofSeconds(30);
 
+    @Value("${inventory.stream.timeout:PT30M}")
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Adds inventory for one item. With {@code inventory.write-behind.enabled} the request is queued and the response
+     * is sent once the flush that applied it has committed.
+     */
     @PostMapping()
-    public ResponseEntity<GenericResponseWrapper<InventoryResponse>> addInventory(
+    public CompletableFuture<ResponseEntity<GenericResponseWrapper<InventoryResponse>>> addInventory(
             @RequestBody InventoryRequest request) {
         log.info("Adding inventory: {}", request);
-        InventoryResponse response = inventoryService.addInventory(request);
+        CompletableFuture<InventoryResponse> response = writeBehind.isEnabled() ? writeBehind.submit(request)
+                : CompletableFuture.completedFuture(inventoryService.addInventory(request));
+        return response.thenApply(
+                inventory -> ResponseEntity.status(HttpStatus.CREATED).body(GenericResponseWrapper.success(inventory)));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<GenericResponseWrapper<InventoryBatchResponse>> addInventoryBatch(
+            @RequestBody List<InventoryRequest> requests) {
+        log.info("Adding inventory batch of {} requests", requests.size());
+        InventoryBatchResponse response = inventoryService.addInventoryBatch(requests);
         return ResponseEntity.status(HttpStatus.CREATED).body(GenericResponseWrapper.success(response));
     }
 
+    /**
+     * Lists the inventory. The response carries an ETag derived from the global inventory version; a request whose
+     * If-None-Match is still current gets 304 Not Modified without touching the database.
+     * <p>
+     * The listing is read on the inventory task executor and the container thread is released meanwhile. If that
+     * executor is saturated, or the listing takes longer than {@code inventory.list.timeout}, the client gets 503; on
+     * timeout or a dropped connection the backing query is cancelled.
+     */
     @GetMapping()
-    public ResponseEntity<GenericResponseWrapper<List<InventoryResponse>>> getInventory() throws ExecutionException, InterruptedException {
+    public DeferredResult<ResponseEntity<GenericResponseWrapper<List<InventoryResponse>>>> getInventory(
+            WebRequest webRequest) {
+        String etag = inventoryVersions.etag(inventoryVersions.global());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         log.info("Fetching all inventory");
         CompletableFuture<List<InventoryResponse>> inventoryFuture = inventoryService.getAllInventory();
-        List<InventoryResponse> inventory = inventoryFuture.get();
-        return ResponseEntity.ok(GenericResponseWrapper.success(inventory));
+        DeferredResult<ResponseEntity<GenericResponseWrapper<List<InventoryResponse>>>> result = new DeferredResult<>(
+                listTimeout.toMillis(), () -> new ServiceException(ErrorCode.REQUEST_TIMEOUT));
+        inventoryFuture.whenComplete((inventory, e) -> {
+            if (e == null) {
+                result.setResult(ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                        .body(GenericResponseWrapper.success(inventory)));
+            } else if (!(e instanceof CancellationException)) {
+                result.setErrorResult(e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+        result.onTimeout(() -> {
+            log.warn("Inventory listing timed out after {}, cancelling it", listTimeout);
+            inventoryFuture.cancel(false);
+        });
+        result.onError(e -> {
+            log.info("Inventory listing abandoned by the client, cancelling it: {}", e.toString());
+            inventoryFuture.cancel(false);
+        });
+        return result;
+    }
+
+    /**
+     * Lists inventory changed since the {@code since} token returned by a previous call, so clients can keep a local
+     * copy in sync without downloading the whole inventory again. Omit the token for a full sync.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<GenericResponseWrapper<InventoryChangesResponse>> getInventoryChanges(
+            @RequestParam(required = false) String since, @RequestParam(defaultValue = "500") int limit) {
+        log.info("Fetching inventory changes since {} (limit {})", since, limit);
+        InventoryChangesResponse response = inventoryService.getInventoryChanges(since, limit);
+        return ResponseEntity.ok(GenericResponseWrapper.success(response));
+    }
+
+    /**
+     * Streams committed stock changes as Server-Sent Events, optionally only for some brands, categories and event
+     * types. Status transitions and low-stock alerts are told apart per subscriber, using {@code lowStockThreshold}
+     * or the configured default. A {@code RESYNC} event means changes were missed and the inventory should be
+     * reloaded, for example through {@code /changes}; browsers reconnecting with {@code Last-Event-ID} resume where
+     * they left off while the missed changes are still buffered.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockEvents(@RequestParam(required = false) List<String> brands,
+            @RequestParam(required = false) List<String> categories,
+            @RequestParam(required = false) List<StockEventType> types,
+            @RequestParam(required = false) Integer lowStockThreshold,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        StockEventFilter filter = StockEventFilter.of(brands, categories, types,
+                lowStockThreshold != null ? lowStockThreshold : changeFeed.defaultLowStockThreshold());
+        log.info("Opening stock stream for {}", filter);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        try {
+            emitter.send(SseEmitter.event().comment(STREAM_OPENED_COMMENT));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        InventoryChangeFeed.Subscription subscription = changeFeed.subscribe(filter, lastEventId,
+                new InventoryChangeFeed.Subscriber() {
+                    @Override
+                    public void onEvent(String id, StockEvent event) throws IOException {
+                        emitter.send(SseEmitter.event().id(id).name(event.getType().name()).data(event));
+                    }
+
+                    @Override
+                    public void onResync(String id) throws IOException {
+                        emitter.send(SseEmitter.event().id(id).name(RESYNC_EVENT).data(RESYNC_EVENT));
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        emitter.completeWithError(e);
+                    }
+
+                    @Override
+                    public void onClose() {
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    /**
+     * Streams the inventory as newline-delimited JSON, one item per line, for clients that send
+     * {@code Accept: application/x-ndjson}. Rows are written as they are read, so memory use does not grow with the
+     * catalog. It has its own ETag, distinct from the JSON listing's.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamInventory(WebRequest webRequest) {
+        String etag = inventoryVersions.etag(inventoryVersions.global()) + NDJSON_ETAG_SUFFIX;
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        log.info("Streaming all inventory");
+        ObjectWriter writer = objectMapper.writerFor(InventoryResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> inventoryService.streamAllInventory(item -> {
+            try {
+                writer.writeValue(outputStream, item);
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                .body(body);
     }
 
 }
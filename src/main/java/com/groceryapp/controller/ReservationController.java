@@ -0,0 +1,43 @@
+package com.groceryapp.controller;
+
+import com.groceryapp.dto.request.reservation.ReservationRequest;
+import com.groceryapp.dto.request.reservation.ReservationUpdateRequest;
+import com.groceryapp.dto.response.common.GenericResponseWrapper;
+import com.groceryapp.dto.response.reservation.ReservationResponse;
+import com.groceryapp.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/inventory")
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping("/reserve")
+    public ResponseEntity<GenericResponseWrapper<ReservationResponse>> reserve(
+            @RequestBody ReservationRequest request) {
+        log.info("Reserving inventory: {}", request);
+        ReservationResponse response = reservationService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(GenericResponseWrapper.success(response));
+    }
+
+    @PostMapping("/confirm")
+    public ResponseEntity<GenericResponseWrapper<ReservationResponse>> confirm(
+            @RequestBody ReservationUpdateRequest request) {
+        log.info("Confirming reservation {}", request.getReservationId());
+        return ResponseEntity.ok(GenericResponseWrapper.success(reservationService.confirm(request.getReservationId())));
+    }
+
+    @PostMapping("/release")
+    public ResponseEntity<GenericResponseWrapper<ReservationResponse>> release(
+            @RequestBody ReservationUpdateRequest request) {
+        log.info("Releasing reservation {}", request.getReservationId());
+        return ResponseEntity.ok(GenericResponseWrapper.success(reservationService.release(request.getReservationId())));
+    }
+}
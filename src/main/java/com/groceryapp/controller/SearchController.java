@@ -1,16 +1,16 @@
 package com.groceryapp.controller;
 
 import java.util.List;
-import com.groceryapp.constant.common.ErrorCode;
 import com.groceryapp.dto.response.common.PaginatedResponse;
 import com.groceryapp.dto.response.search.SearchResultItem;
-import com.groceryapp.exception.ServiceException;
-import com.groceryapp.validations.search.SearchValidator;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.search.SearchMetrics;
+import com.groceryapp.service.search.SearchQuery;
+import com.groceryapp.validations.search.SearchQueryParser;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
 
 import com.groceryapp.dto.response.common.GenericResponseWrapper;
 import com.groceryapp.service.SearchService;
@@ -25,32 +25,42 @@ import lombok.extern.slf4j.Slf4j;
 public class SearchController {
 
     private final SearchService searchService;
-    private final SearchValidator validator;
+    private final SearchQueryParser queryParser;
+    private final InventoryVersions inventoryVersions;
 
+    /**
+     * Searches the inventory. The parameters are parsed into a cached {@link SearchQuery} plan, or rejected with every
+     * validation error at once. The response carries an ETag derived from the inventory versions of the requested
+     * brands or categories; a request whose If-None-Match is still current gets 304 Not Modified without running the
+     * search.
+     * The search's {@link SearchMetrics.Shape} is left in a request attribute so the serialization of the response is
+     * timed with the same tags as the search phases.
+     */
     @GetMapping
     public ResponseEntity<GenericResponseWrapper<PaginatedResponse<SearchResultItem>>> searchItems(
             @RequestParam(required = false) List<String> brands,
             @RequestParam(required = false) List<String> categories, @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice, @RequestParam(defaultValue = "price") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDirection, @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size, @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
 
         log.info("Starting item search with page: {}, size: {}", page, size);
 
-        if (!validator.validate(brands, categories, minPrice, maxPrice, sortBy, sortDirection, page, size)) {
-            if (!validator.validate(brands, categories, minPrice, maxPrice, sortBy, sortDirection, page, size)) {
-                throw new ServiceException(ErrorCode.INVALID_REQUEST, String.join(", ", validator.getErrors()));
-            }
+        SearchQuery query = queryParser.parse(brands, categories, minPrice, maxPrice, sortBy, sortDirection, page,
+                size);
+
+        String etag = inventoryVersions.etag(inventoryVersions.stamp(query.brands(), query.categories()));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
 
-        String normalizedSortField = validator.normalizeSortField(sortBy);
-        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, normalizedSortField));
-        PaginatedResponse<SearchResultItem> response = searchService.searchItems(brands, categories, minPrice, maxPrice,
-                pageable);
+        PaginatedResponse<SearchResultItem> response = searchService.searchItems(query, query.pageable(page, size),
+                cursor);
 
-        log.info("Completed item search with {} results", response.getTotalResults());
-        return ResponseEntity.ok(GenericResponseWrapper.success(response));
+        log.info("Completed item search with {} results", response.getResults().size());
+        webRequest.setAttribute(SearchMetrics.SHAPE_ATTRIBUTE, query.shape(), RequestAttributes.SCOPE_REQUEST);
+        return ResponseEntity.ok().eTag(etag).body(GenericResponseWrapper.success(response));
     }
 
 }
@@ -0,0 +1,17 @@
+package com.groceryapp.dto.request.reservation;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationUpdateRequest {
+
+    @NotBlank(message = "Reservation id cannot be empty")
+    private String reservationId;
+}
@@ -17,6 +17,10 @@ public class PaginatedResponse<T> {
     private Integer totalPages;
     private Integer currentPage;
     private Integer pageSize;
+    /**
+     * Opaque keyset cursor for the next page, or null when this is the last page.
+     */
+    private String nextCursor;
 
     /**
      * Factory method to create a paginated response
@@ -27,4 +31,11 @@ public class PaginatedResponse<T> {
         return PaginatedResponse.<T> builder().results(results).totalResults(totalResults).totalPages(totalPages)
                 .currentPage(currentPage).pageSize(pageSize).build();
     }
+
+    /**
+     * Factory method to create a keyset page, which carries no totals or page number
+     */
+    public static <T> PaginatedResponse<T> ofCursor(List<T> results, Integer pageSize, String nextCursor) {
+        return PaginatedResponse.<T> builder().results(results).pageSize(pageSize).nextCursor(nextCursor).build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.groceryapp.dto.response.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryBatchResponse {
+    private Integer received;
+    private Integer items;
+    private Integer brandsCreated;
+    private Integer categoriesCreated;
+    private Integer itemsCreated;
+}
@@ -0,0 +1,22 @@
+package com.groceryapp.dto.response.inventory;
+
+import com.groceryapp.constant.inventory.InventoryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChange {
+    private String brand;
+    private String category;
+    private Double price;
+    private Integer quantity;
+    private InventoryStatus status;
+    private LocalDateTime updatedAt;
+}
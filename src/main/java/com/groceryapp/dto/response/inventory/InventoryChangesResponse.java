@@ -0,0 +1,24 @@
+package com.groceryapp.dto.response.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryChangesResponse {
+    private List<InventoryChange> changes;
+    /**
+     * Opaque token to pass as {@code since} on the next call; it is returned even when there are no changes.
+     */
+    private String nextToken;
+    /**
+     * Whether more changes were already available than fit in this response.
+     */
+    private Boolean hasMore;
+}
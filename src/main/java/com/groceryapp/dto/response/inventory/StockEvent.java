@@ -0,0 +1,24 @@
+package com.groceryapp.dto.response.inventory;
+
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.constant.inventory.StockEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockEvent {
+    private StockEventType type;
+    private String brand;
+    private String category;
+    private Integer previousQuantity;
+    private Integer quantity;
+    private InventoryStatus status;
+    private LocalDateTime changedAt;
+}
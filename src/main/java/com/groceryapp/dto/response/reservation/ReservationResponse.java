@@ -0,0 +1,22 @@
+package com.groceryapp.dto.response.reservation;
+
+import com.groceryapp.constant.inventory.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+    private String reservationId;
+    private String brand;
+    private String category;
+    private Integer quantity;
+    private ReservationStatus status;
+    private Instant expiresAt;
+}
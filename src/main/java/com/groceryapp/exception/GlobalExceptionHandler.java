@@ -58,11 +58,15 @@ public class GlobalExceptionHandler {
         int code = errorCode.getCode();
 
         if (code >= 1000 && code < 5000) {
-            if (code == ErrorCode.INVENTORY_ITEM_NOT_FOUND.getCode()) {
+            if (code == ErrorCode.INVENTORY_ITEM_NOT_FOUND.getCode()
+                    || code == ErrorCode.RESERVATION_NOT_FOUND.getCode()) {
                 return HttpStatus.NOT_FOUND;
             }
             return HttpStatus.BAD_REQUEST;
         }
+        if (errorCode == ErrorCode.REQUEST_TIMEOUT || errorCode == ErrorCode.SERVICE_BUSY) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
 
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
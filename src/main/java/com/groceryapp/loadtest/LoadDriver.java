@@ -0,0 +1,190 @@
+package com.groceryapp.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.service.catalog.SyntheticCatalogGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process load driver. Once the application is ready it replays a mix of searches and restocks against its own
+ * HTTP endpoints at a fixed rate, aimed at the {@link SyntheticCatalogGenerator synthetic catalog} by the same Zipf
+ * popularity the catalog was built with, and logs latency percentiles and errors when done.
+ * <p>
+ * The driver is open-loop: requests are scheduled at fixed intervals whether or not earlier ones have finished, and
+ * latency is measured from the scheduled start, so a stalled server shows up in the percentiles instead of silently
+ * slowing the driver down. At most {@code loadtest.max-in-flight} requests are outstanding; a request that would
+ * exceed it is counted as rejected rather than sent. Only active when {@code loadtest.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "loadtest.enabled", havingValue = "true")
+@Slf4j
+public class LoadDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final SyntheticCatalogGenerator catalog;
+    private final ObjectMapper objectMapper;
+    private final String contextPath;
+    private final int rps;
+    private final Duration duration;
+    private final double searchRatio;
+    private final int maxInFlight;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final LatencyRecorder searchLatency = new LatencyRecorder();
+    private final LatencyRecorder restockLatency = new LatencyRecorder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public LoadDriver(SyntheticCatalogGenerator catalog, ObjectMapper objectMapper,
+            @Value("${server.servlet.context-path:}") String contextPath, @Value("${loadtest.rps:200}") int rps,
+            @Value("${loadtest.duration:PT30S}") Duration duration,
+            @Value("${loadtest.search-ratio:0.9}") double searchRatio,
+            @Value("${loadtest.max-in-flight:256}") int maxInFlight) {
+        if (rps < 1 || maxInFlight < 1 || searchRatio < 0 || searchRatio > 1) {
+            throw new IllegalArgumentException(
+                    "loadtest.rps and max-in-flight must be positive and search-ratio between 0 and 1");
+        }
+        this.catalog = catalog;
+        this.objectMapper = objectMapper;
+        this.contextPath = contextPath;
+        this.rps = rps;
+        this.duration = duration;
+        this.searchRatio = searchRatio;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+            log.warn("Load test skipped: the application is not running a web server");
+            return;
+        }
+        if (catalog.size() == 0) {
+            log.warn("Load test skipped: set catalog.generator.skus to load a catalog to run it against");
+            return;
+        }
+        URI base = URI.create("http://localhost:" + web.getWebServer().getPort() + contextPath);
+        Thread driver = new Thread(() -> run(base), "load-driver");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    private void run(URI base) {
+        log.info("Load test started against {}: {} requests/s for {}, {}% searches", base, rps, duration,
+                Math.round(searchRatio * 100));
+        SplittableRandom random = new SplittableRandom();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        for (long intended = start; intended < end; intended += interval) {
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                rejected.increment();
+                continue;
+            }
+            boolean search = random.nextDouble() < searchRatio;
+            LatencyRecorder latency = search ? searchLatency : restockLatency;
+            long scheduled = intended;
+            sent++;
+            client.sendAsync(search ? search(base, random) : restock(base, random),
+                    HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                        latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+                        if (error != null) {
+                            errors.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder())
+                                    .increment();
+                        } else if (response.statusCode() >= 400) {
+                            errors.computeIfAbsent(Integer.toString(response.statusCode()), key -> new LongAdder())
+                                    .increment();
+                        }
+                        inFlight.release();
+                    });
+        }
+        try {
+            if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Load test gave up waiting for {} outstanding requests",
+                        maxInFlight - inFlight.availablePermits());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        report(sent, System.nanoTime() - start);
+    }
+
+    /**
+     * A search for one popular brand, or for a popular category under a price cap above its typical price.
+     */
+    private HttpRequest search(URI base, SplittableRandom random) {
+        if (random.nextBoolean()) {
+            return get(base, "brands=" + SyntheticCatalogGenerator.brandName(catalog.brandPopularity().sample(random)));
+        }
+        int category = catalog.categoryPopularity().sample(random);
+        long maxPrice = Math.round(catalog.basePrice(category) * (1 + random.nextDouble()));
+        return get(base, "categories=" + SyntheticCatalogGenerator.categoryName(category) + "&maxPrice=" + maxPrice);
+    }
+
+    private static HttpRequest get(URI base, String query) {
+        return HttpRequest.newBuilder(URI.create(base + "/v1/search?" + query)).GET().build();
+    }
+
+    /**
+     * A small restock of an existing item.
+     */
+    private HttpRequest restock(URI base, SplittableRandom random) {
+        int sku = catalog.randomSku(random);
+        InventoryRequest request = InventoryRequest.builder()
+                .brand(SyntheticCatalogGenerator.brandName(catalog.brandOf(sku)))
+                .category(SyntheticCatalogGenerator.categoryName(catalog.categoryOf(sku)))
+                .quantity(1 + random.nextInt(10)).build();
+        try {
+            return HttpRequest.newBuilder(URI.create(base + "/v1/inventory")).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request))).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize restock request", e);
+        }
+    }
+
+    private void report(long sent, long elapsedNanos) {
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((key, count) -> errorCounts.put(key, count.sum()));
+        long failed = errorCounts.values().stream().mapToLong(Long::longValue).sum();
+        long completed = searchLatency.count() + restockLatency.count();
+        log.info("Load test finished: {} sent, {} completed, {} rejected, {} errors ({}%) {}, {} requests/s achieved",
+                sent, completed, rejected.sum(), failed,
+                String.format("%.2f", completed == 0 ? 0.0 : 100.0 * failed / completed), errorCounts,
+                String.format("%.1f", completed * 1e9 / elapsedNanos));
+        log.info("Search latency:  {}", summary(searchLatency));
+        log.info("Restock latency: {}", summary(restockLatency));
+    }
+
+    private static String summary(LatencyRecorder latency) {
+        return String.format("n=%d p50=%.2f ms p99=%.2f ms p999=%.2f ms max=%.2f ms", latency.count(),
+                latency.percentile(0.5) / 1000.0, latency.percentile(0.99) / 1000.0,
+                latency.percentile(0.999) / 1000.0, latency.max() / 1000.0);
+    }
+}
@@ -7,18 +7,23 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_inventory_item", columnNames = "item_id"),
+        indexes = @Index(name = "idx_inventory_updated_at", columnList = "updated_at, id"))
 public class Inventory extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    // One id per call: the native merge in InventoryRepository.upsertQuantity draws ids from the same sequence
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = 1)
     private Long id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
@@ -27,6 +32,14 @@ public class Inventory extends Auditable {
     @Enumerated(EnumType.STRING)
     private InventoryStatus status;
 
+    /**
+     * Incremented by every write to the quantity. Writes hold the row lock until they commit, so versions are committed
+     * in order and a reader that sees version {@code v} sees every write up to {@code v}.
+     */
+    @ColumnDefault("0")
+    @Column(name = "stock_version", nullable = false)
+    private long stockVersion;
+
     public void updateStatus() {
         this.status = (quantity > 0) ? InventoryStatus.AVAILABLE : InventoryStatus.OUT_OF_STOCK;
     }
@@ -4,10 +4,14 @@ import com.groceryapp.model.Brand;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BrandRepository extends JpaRepository<Brand, Long> {
 
     Optional<Brand> findByName(String name);
+
+    List<Brand> findByNameIn(Collection<String> names);
 }
\ No newline at end of file
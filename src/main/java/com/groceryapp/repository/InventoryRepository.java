@@ -1,17 +1,149 @@
 package com.groceryapp.repository;
 
+import com.groceryapp.dto.response.inventory.InventoryResponse;
 import com.groceryapp.model.Inventory;
 import com.groceryapp.model.Item;
+import com.groceryapp.repository.projection.InventoryChangeRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Inventory rows are almost always read together with their item, brand and category, so the entity listing methods
+ * fetch the whole graph in the same select instead of one lazy load per association and row. Read-only listings use
+ * the DTO projections instead.
+ */
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long>, JpaSpecificationExecutor<Inventory> {
+public interface InventoryRepository
+        extends JpaRepository<Inventory, Long>, JpaSpecificationExecutor<Inventory>, InventorySearchRepository {
+
     Optional<Inventory> findByItem(Item item);
+
+    Optional<Inventory> findByItemBrandNameAndItemCategoryName(String brandName, String categoryName);
+
+    /**
+     * Loads the inventory of the brand and category's item with its item, brand and category. The fetch joins are
+     * inner joins, so the database can start from the brand and category and reach the row through the unique keys;
+     * outer joins from the inventory side would scan the whole table.
+     */
+    @Query("select inv from Inventory inv join fetch inv.item i join fetch i.brand join fetch i.category "
+            + "where i.brand.id = :brandId and i.category.id = :categoryId")
+    Optional<Inventory> findByItemBrandIdAndItemCategoryId(@Param("brandId") Long brandId,
+            @Param("categoryId") Long categoryId);
+
+    /**
+     * Loads and row-locks the inventory of the given items until the transaction ends, so a bulk read-modify-write
+     * cannot lose a concurrent increment.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Inventory> findByItemIn(Collection<Item> items);
+
+    /**
+     * Adds {@code delta} to the quantity of the item's inventory and recomputes its status in one statement, so
+     * concurrent restocks never overwrite each other.
+     *
+     * @return the number of rows updated, 0 when the item has no inventory row yet.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory inv set inv.quantity = inv.quantity + :delta, inv.status = case when inv.quantity + :delta > 0 "
+            + "then com.groceryapp.constant.inventory.InventoryStatus.AVAILABLE "
+            + "else com.groceryapp.constant.inventory.InventoryStatus.OUT_OF_STOCK end, inv.updatedAt = :now, "
+            + "inv.stockVersion = inv.stockVersion + 1 where inv.item = :item")
+    int incrementQuantity(@Param("item") Item item, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    /**
+     * Adds {@code delta} to the inventory of the brand and category's item, inserting the row on the item's first
+     * restock, in a single MERGE on the {@code uk_inventory_item} key. Two concurrent first restocks of the same item
+     * can both take the insert branch; the loser fails with a duplicate key and is expected to retry, which then takes
+     * the update branch.
+     *
+     * @return the number of rows merged, 0 when the item does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "merge into inventory inv "
+            + "using (select id as item_id from item where brand_id = :brandId and category_id = :categoryId) src "
+            + "on inv.item_id = src.item_id "
+            + "when matched then update set quantity = inv.quantity + :delta, "
+            + "status = case when inv.quantity + :delta > 0 then 'AVAILABLE' else 'OUT_OF_STOCK' end, "
+            + "updated_at = :now, stock_version = inv.stock_version + 1 "
+            + "when not matched then insert (id, item_id, quantity, status, created_at, updated_at, stock_version) "
+            + "values (next value for inventory_seq, src.item_id, :delta, "
+            + "case when :delta > 0 then 'AVAILABLE' else 'OUT_OF_STOCK' end, :now, :now, 1)")
+    int upsertQuantity(@Param("brandId") long brandId, @Param("categoryId") long categoryId, @Param("delta") int delta,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Removes {@code amount} from the quantity of the item's inventory only if at least that much is in stock.
+     *
+     * @return the number of rows updated, 0 when the stock is insufficient or the item has no inventory row.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Inventory inv set inv.quantity = inv.quantity - :amount, inv.status = case when inv.quantity - :amount > 0 "
+            + "then com.groceryapp.constant.inventory.InventoryStatus.AVAILABLE "
+            + "else com.groceryapp.constant.inventory.InventoryStatus.OUT_OF_STOCK end, inv.updatedAt = :now, "
+            + "inv.stockVersion = inv.stockVersion + 1 where inv.item = :item and inv.quantity >= :amount")
+    int decrementQuantity(@Param("item") Item item, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    String INVENTORY_RESPONSES = "select new com.groceryapp.dto.response.inventory.InventoryResponse("
+            + "b.name, c.name, inv.quantity, inv.status) "
+            + "from Inventory inv join inv.item i join i.brand b join i.category c order by inv.id";
+
+    /**
+     * Lists the inventory as response DTOs selected column by column, without loading any entity.
+     */
+    @Query(INVENTORY_RESPONSES)
+    List<InventoryResponse> findAllInventoryResponses();
+
+    /**
+     * Streams the same projection over an open JDBC cursor, fetching a bounded batch of rows at a time. Must be
+     * consumed and closed inside a transaction.
+     */
+    @Query(INVENTORY_RESPONSES)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<InventoryResponse> streamInventoryResponses();
+
+    /**
+     * Lists inventory rows modified after the {@code (since, id)} keyset position and before {@code until}, in
+     * modification order, walking the {@code idx_inventory_updated_at} index. Item writes always update their
+     * inventory row in the same transaction, so a changed price shows up here too.
+     */
+    @Query("select new com.groceryapp.repository.projection.InventoryChangeRow("
+            + "inv.id, b.name, c.name, i.price, inv.quantity, inv.status, inv.updatedAt) "
+            + "from Inventory inv join inv.item i join i.brand b join i.category c "
+            + "where (inv.updatedAt > :since or (inv.updatedAt = :since and inv.id > :id)) and inv.updatedAt < :until "
+            + "order by inv.updatedAt, inv.id")
+    List<InventoryChangeRow> findChangesAfter(@Param("since") LocalDateTime since, @Param("id") long id,
+            @Param("until") LocalDateTime until, Limit limit);
+
+    @Override
+    @EntityGraph(attributePaths = { "item.brand", "item.category" })
+    List<Inventory> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "item.brand", "item.category" })
+    List<Inventory> findAll(Sort sort);
+
+    @Override
+    @EntityGraph(attributePaths = { "item.brand", "item.category" })
+    Page<Inventory> findAll(Specification<Inventory> spec, Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.groceryapp.repository;
+
+import com.groceryapp.model.Inventory;
+import com.groceryapp.repository.projection.InventorySearchRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Search reads that project matching inventory rows into {@link InventorySearchRow}s instead of managed entities, so
+ * nothing is added to the persistence context or snapshotted for dirty checking.
+ */
+public interface InventorySearchRepository {
+
+    /**
+     * Returns the requested page of rows matching the specification, counting the total only when the page does not
+     * already reveal it.
+     */
+    Page<InventorySearchRow> findSearchRows(Specification<Inventory> specification, Pageable pageable);
+
+    /**
+     * Returns at most {@code limit} rows matching the specification, without a count query.
+     */
+    List<InventorySearchRow> findSearchRows(Specification<Inventory> specification, int limit);
+}
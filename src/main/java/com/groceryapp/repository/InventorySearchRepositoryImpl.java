@@ -0,0 +1,65 @@
+package com.groceryapp.repository;
+
+import com.groceryapp.model.Inventory;
+import com.groceryapp.repository.projection.InventorySearchRow;
+import com.groceryapp.repository.specification.InventorySpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class InventorySearchRepositoryImpl implements InventorySearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<InventorySearchRow> findSearchRows(Specification<Inventory> specification, Pageable pageable) {
+        List<InventorySearchRow> content = select(specification).setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize()).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<InventorySearchRow> findSearchRows(Specification<Inventory> specification, int limit) {
+        return select(specification).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<InventorySearchRow> select(Specification<Inventory> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InventorySearchRow> query = cb.createQuery(InventorySearchRow.class);
+        Root<Inventory> root = query.from(Inventory.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.construct(InventorySearchRow.class, root.get("id"),
+                InventorySpecifications.brandJoin(root).get("name"),
+                InventorySpecifications.categoryJoin(root).get("name"),
+                InventorySpecifications.itemJoin(root).get("price"), root.get("quantity")));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Inventory> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Inventory> root = query.from(Inventory.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -4,10 +4,13 @@ import com.groceryapp.model.Brand;
 import com.groceryapp.model.Category;
 import com.groceryapp.model.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,29 @@ import java.util.Optional;
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     Optional<Item> findByCategoryAndBrand(Category category, Brand brand);
+
+    /**
+     * Loads every item of the given brands and categories in one query. The result may include brand and category
+     * combinations that were not asked for, so callers match on both.
+     */
+    List<Item> findByBrandInAndCategoryIn(Collection<Brand> brands, Collection<Category> categories);
+
+    /**
+     * Creates the item for the brand and category, or updates its price, in a single MERGE on the
+     * {@code uk_item_brand_category} key. A null price leaves an existing price alone. Two concurrent creators can
+     * both take the insert branch; the loser fails with a duplicate key and is expected to retry.
+     *
+     * @return the number of rows inserted or updated, 0 when the item exists with the same price.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "merge into item it "
+            + "using (select cast(:brandId as bigint) as brand_id, cast(:categoryId as bigint) as category_id, "
+            + "cast(:price as double precision) as price) src "
+            + "on it.brand_id = src.brand_id and it.category_id = src.category_id "
+            + "when matched and src.price is not null and (it.price is null or it.price <> src.price) "
+            + "then update set price = src.price, updated_at = :now "
+            + "when not matched then insert (id, brand_id, category_id, price, created_at, updated_at) "
+            + "values (next value for item_seq, src.brand_id, src.category_id, src.price, :now, :now)")
+    int upsert(@Param("brandId") long brandId, @Param("categoryId") long categoryId, @Param("price") Double price,
+            @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.groceryapp.repository.projection;
+
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.dto.response.inventory.InventoryChange;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of one changed inventory row and its item. The inventory id and modification time are the keyset position
+ * of the row in the change feed.
+ */
+public record InventoryChangeRow(Long id, String brand, String category, Double price, Integer quantity,
+        InventoryStatus status, LocalDateTime updatedAt) {
+
+    public InventoryChange toInventoryChange() {
+        return new InventoryChange(brand, category, price, quantity, status, updatedAt);
+    }
+}
@@ -0,0 +1,14 @@
+package com.groceryapp.repository.projection;
+
+import com.groceryapp.dto.response.search.SearchResultItem;
+
+/**
+ * Columns of one search hit, selected straight from the inventory, item, brand and category tables. The inventory id
+ * is kept next to the {@link SearchResultItem} fields so the last row of a page can become a keyset cursor.
+ */
+public record InventorySearchRow(Long id, String brand, String category, Double price, Integer quantity) {
+
+    public SearchResultItem toSearchResultItem() {
+        return new SearchResultItem(brand, category, price, quantity);
+    }
+}
@@ -0,0 +1,144 @@
+package com.groceryapp.repository.specification;
+
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collection;
+
+/**
+ * Criteria building blocks for querying {@link Inventory} rows through
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor}.
+ */
+public final class InventorySpecifications {
+
+    private InventorySpecifications() {
+    }
+
+    /**
+     * Combines the search filters into a single specification. Empty or null filters are ignored.
+     */
+    public static Specification<Inventory> withFilters(Collection<String> brands, Collection<String> categories,
+            Double minPrice, Double maxPrice) {
+        return Specification.where(brandIn(brands)).and(categoryIn(categories)).and(priceAtLeast(minPrice))
+                .and(priceAtMost(maxPrice));
+    }
+
+    public static Specification<Inventory> brandIn(Collection<String> brands) {
+        if (CollectionUtils.isEmpty(brands)) {
+            return null;
+        }
+        return (root, query, cb) -> brandJoin(root).get("name").in(brands);
+    }
+
+    public static Specification<Inventory> categoryIn(Collection<String> categories) {
+        if (CollectionUtils.isEmpty(categories)) {
+            return null;
+        }
+        return (root, query, cb) -> categoryJoin(root).get("name").in(categories);
+    }
+
+    public static Specification<Inventory> priceAtLeast(Double minPrice) {
+        if (minPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(itemJoin(root).get("price"), minPrice);
+    }
+
+    public static Specification<Inventory> priceAtMost(Double maxPrice) {
+        if (maxPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(itemJoin(root).get("price"), maxPrice);
+    }
+
+    /**
+     * Keyset predicate selecting the rows that sort strictly after the given position, for the same ordering as
+     * {@link #orderedBy(Sort.Order)}.
+     *
+     * @param order The sort the position refers to.
+     * @param key Sort key of the last row already returned; null for a missing price.
+     * @param id Inventory id of that row.
+     */
+    public static Specification<Inventory> after(Sort.Order order, Double key, long id) {
+        return (root, query, cb) -> {
+            Expression<Long> rowId = root.get("id");
+            if (Constants.QUANTITY.equals(order.getProperty())) {
+                Expression<Integer> quantity = root.get("quantity");
+                int value = key.intValue();
+                return cb.or(order.isAscending() ? cb.greaterThan(quantity, value) : cb.lessThan(quantity, value),
+                        cb.and(cb.equal(quantity, value), cb.greaterThan(rowId, id)));
+            }
+            Expression<Double> price = itemJoin(root).get("price");
+            if (key == null) {
+                Predicate nextMissing = cb.and(cb.isNull(price), cb.greaterThan(rowId, id));
+                return order.isAscending() ? nextMissing : cb.or(nextMissing, cb.isNotNull(price));
+            }
+            Predicate sameKey = cb.and(cb.equal(price, key), cb.greaterThan(rowId, id));
+            if (order.isAscending()) {
+                return cb.or(cb.greaterThan(price, key), cb.isNull(price), sameKey);
+            }
+            return cb.or(cb.lessThan(price, key), sameKey);
+        };
+    }
+
+    /**
+     * Orders the result by the requested field with the inventory id as tie-breaker, mirroring the in-memory
+     * comparator: a missing price sorts last when ascending and first when descending. The ordering is skipped for
+     * count queries.
+     */
+    public static Specification<Inventory> orderedBy(Sort.Order order) {
+        return (root, query, cb) -> {
+            if (Long.class.equals(query.getResultType())) {
+                return null;
+            }
+            boolean ascending = order.isAscending();
+            Expression<?> id = root.get("id");
+            if (Constants.QUANTITY.equals(order.getProperty())) {
+                Expression<?> quantity = root.get("quantity");
+                query.orderBy(ascending ? cb.asc(quantity) : cb.desc(quantity), cb.asc(id));
+            } else {
+                Expression<Double> price = itemJoin(root).get("price");
+                Expression<Integer> missing = cb.<Integer> selectCase().when(cb.isNull(price), 1).otherwise(0);
+                query.orderBy(ascending ? cb.asc(missing) : cb.desc(missing),
+                        ascending ? cb.asc(price) : cb.desc(price), cb.asc(id));
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Returns the inner join from inventory to its item, reusing the one an earlier specification already added.
+     */
+    public static Join<Inventory, Item> itemJoin(Root<Inventory> root) {
+        return join(root, "item");
+    }
+
+    public static Join<Item, Brand> brandJoin(Root<Inventory> root) {
+        return join(itemJoin(root), "brand");
+    }
+
+    public static Join<Item, Category> categoryJoin(Root<Inventory> root) {
+        return join(itemJoin(root), "category");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X, Y> Join<X, Y> join(From<?, X> from, String attribute) {
+        for (Join<X, ?> join : from.getJoins()) {
+            if (attribute.equals(join.getAttribute().getName())) {
+                return (Join<X, Y>) join;
+            }
+        }
+        return from.join(attribute);
+    }
+}
@@ -1,13 +1,22 @@
 package com.groceryapp.service;
 
 import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.dto.response.inventory.InventoryBatchResponse;
+import com.groceryapp.dto.response.inventory.InventoryChangesResponse;
 import com.groceryapp.dto.response.inventory.InventoryResponse;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface InventoryService {
     InventoryResponse addInventory(InventoryRequest request);
 
+    InventoryBatchResponse addInventoryBatch(List<InventoryRequest> requests);
+
     CompletableFuture<List<InventoryResponse>> getAllInventory();
+
+    void streamAllInventory(Consumer<InventoryResponse> consumer);
+
+    InventoryChangesResponse getInventoryChanges(String since, int limit);
 }
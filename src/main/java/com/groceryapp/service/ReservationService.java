@@ -0,0 +1,14 @@
+package com.groceryapp.service;
+
+import com.groceryapp.dto.request.reservation.ReservationRequest;
+import com.groceryapp.dto.response.reservation.ReservationResponse;
+
+public interface ReservationService {
+    ReservationResponse reserve(ReservationRequest request);
+
+    ReservationResponse confirm(String reservationId);
+
+    ReservationResponse release(String reservationId);
+
+    void restocked(String brand, String category, int quantity, long stockVersion);
+}
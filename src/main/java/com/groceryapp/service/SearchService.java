@@ -3,11 +3,19 @@ package com.groceryapp.service;
 import java.util.List;
 import com.groceryapp.dto.response.common.PaginatedResponse;
 import com.groceryapp.dto.response.search.SearchResultItem;
+import com.groceryapp.service.search.SearchQuery;
 import org.springframework.data.domain.Pageable;
 
-import java.util.Map;
-
 public interface SearchService {
-    PaginatedResponse<SearchResultItem> searchItems(List<String> brands, List<String> categories, Double minPrice,
-            Double maxPrice, Pageable pageable);
+    default PaginatedResponse<SearchResultItem> searchItems(List<String> brands, List<String> categories,
+            Double minPrice, Double maxPrice, Pageable pageable) {
+        return searchItems(brands, categories, minPrice, maxPrice, pageable, null);
+    }
+
+    default PaginatedResponse<SearchResultItem> searchItems(List<String> brands, List<String> categories,
+            Double minPrice, Double maxPrice, Pageable pageable, String cursor) {
+        return searchItems(SearchQuery.of(brands, categories, minPrice, maxPrice, pageable), pageable, cursor);
+    }
+
+    PaginatedResponse<SearchResultItem> searchItems(SearchQuery query, Pageable pageable, String cursor);
 }
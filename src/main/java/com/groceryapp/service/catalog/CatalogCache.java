@@ -0,0 +1,92 @@
+package com.groceryapp.service.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.repository.BrandRepository;
+import com.groceryapp.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of catalog ids: brand name to brand id and category name to category id. Brands and
+ * categories are never deleted, so a cached id stays valid for the life of the process.
+ * <p>
+ * A miss runs get-or-create in its own committed transaction while Caffeine holds the key, so concurrent first
+ * requests for the same name in this process wait for a single lookup, and no caller ever sees an id whose insert
+ * could still roll back. A creator that loses the race to another writer on the unique name key simply looks the name
+ * up again. Eviction is Caffeine's size-bounded W-TinyLFU; hit, miss and eviction counters are available from
+ * {@link #stats()}.
+ */
+@Component
+@Slf4j
+public class CatalogCache {
+
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate requiresNew;
+
+    private final Cache<String, Long> brandIds;
+    private final Cache<String, Long> categoryIds;
+
+    public CatalogCache(BrandRepository brandRepository, CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager, @Value("${catalog.cache.max-names:10000}") long maxNames) {
+        this.brandRepository = brandRepository;
+        this.categoryRepository = categoryRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.brandIds = Caffeine.newBuilder().maximumSize(maxNames).recordStats().build();
+        this.categoryIds = Caffeine.newBuilder().maximumSize(maxNames).recordStats().build();
+    }
+
+    /**
+     * Returns the id of the brand with the given name, creating the brand if it does not exist yet.
+     */
+    public long brandId(String name) {
+        return brandIds.get(name, key -> getOrCreate(() -> brandRepository.findByName(key).orElseGet(() -> {
+            Brand brand = new Brand();
+            brand.setName(key);
+            log.debug("Creating brand {}", key);
+            return brandRepository.save(brand);
+        })).getId());
+    }
+
+    /**
+     * Returns the id of the category with the given name, creating the category if it does not exist yet.
+     */
+    public long categoryId(String name) {
+        return categoryIds.get(name, key -> getOrCreate(() -> categoryRepository.findByName(key).orElseGet(() -> {
+            Category category = new Category();
+            category.setName(key);
+            log.debug("Creating category {}", key);
+            return categoryRepository.save(category);
+        })).getId());
+    }
+
+    public Map<String, CacheStats> stats() {
+        return Map.of("brands", brandIds.stats(), "categories", categoryIds.stats());
+    }
+
+    /**
+     * Runs the get-or-create in its own transaction, and once more if the insert lost a race on the unique name key,
+     * which the second lookup then finds.
+     */
+    private <T> T getOrCreate(Supplier<T> getOrCreate) {
+        try {
+            return requiresNew.execute(status -> getOrCreate.get());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Catalog entry created concurrently, reading it back: {}", e.getMessage());
+            return requiresNew.execute(status -> getOrCreate.get());
+        }
+    }
+}
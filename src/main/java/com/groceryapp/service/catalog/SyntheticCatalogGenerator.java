@@ -0,0 +1,250 @@
+package com.groceryapp.service.catalog;
+
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.utils.ZipfDistribution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Deterministic synthetic catalog for local load testing, shaped like a real grocery catalog rather than a uniform
+ * grid.
+ * <ul>
+ * <li>Brand sizes follow a Zipf distribution: a few brands sell in most categories and a long tail sells one or two
+ * items. A brand sells at most one item per category ({@code uk_item_brand_category}), so a brand's size is capped at
+ * the number of categories and the excess flows down to the following brands.</li>
+ * <li>Within a brand, categories are drawn by their own Zipf popularity, so popular categories hold most items.</li>
+ * <li>Each category has a log-normal base price and item prices spread log-normally around it, rounded to charm
+ * prices ending in .99.</li>
+ * </ul>
+ * The same settings and seed always produce the same catalog, so the load driver can aim traffic at items that
+ * exist.
+ */
+@Component
+public class SyntheticCatalogGenerator {
+
+    private static final int MIN_BRANDS = 10;
+    private static final int MEAN_ITEMS_PER_BRAND = 20;
+    private static final double MEDIAN_CATEGORY_PRICE = 60.0;
+    private static final double CATEGORY_PRICE_SIGMA = 0.9;
+    private static final double ITEM_PRICE_SIGMA = 0.3;
+    private static final int MAX_QUANTITY = 200;
+    private static final int MAX_CATEGORY_REJECTIONS = 64;
+
+    private final int skus;
+    private final long seed;
+    private final int[] brandStart;
+    private final int[] skuCategory;
+    private final double[] categoryBasePrice;
+    private final ZipfDistribution brandPopularity;
+    private final ZipfDistribution categoryPopularity;
+
+    /**
+     * @param brands Number of brands, or 0 for one brand per 20 items on average, which gives a long tail of small
+     *            brands.
+     */
+    public SyntheticCatalogGenerator(@Value("${catalog.generator.skus:0}") int skus,
+            @Value("${catalog.generator.brands:0}") int brands,
+            @Value("${catalog.generator.categories:500}") int categories,
+            @Value("${catalog.generator.exponent:1.0}") double exponent,
+            @Value("${catalog.generator.seed:42}") long seed) {
+        if (skus < 0 || categories < 1 || brands < 0) {
+            throw new IllegalArgumentException("catalog.generator.skus, brands and categories must not be negative");
+        }
+        int brandCount = brands > 0 ? brands
+                : Math.max(MIN_BRANDS, Math.max(Math.ceilDiv(skus, MEAN_ITEMS_PER_BRAND),
+                        Math.ceilDiv(skus, categories)));
+        if ((long) brandCount * categories < skus) {
+            throw new IllegalArgumentException(brandCount + " brands in " + categories
+                    + " categories cannot hold " + skus + " items");
+        }
+        this.skus = skus;
+        this.seed = seed;
+
+        int[] sizes = brandSizes(skus, brandCount, categories, exponent);
+        int activeBrands = 0;
+        while (activeBrands < sizes.length && sizes[activeBrands] > 0) {
+            activeBrands++;
+        }
+        this.brandStart = new int[activeBrands + 1];
+        for (int brand = 0; brand < activeBrands; brand++) {
+            brandStart[brand + 1] = brandStart[brand] + sizes[brand];
+        }
+        this.brandPopularity = new ZipfDistribution(Math.max(1, activeBrands), exponent);
+        this.categoryPopularity = new ZipfDistribution(categories, exponent);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        this.categoryBasePrice = new double[categories];
+        for (int category = 0; category < categories; category++) {
+            categoryBasePrice[category] = MEDIAN_CATEGORY_PRICE * Math.exp(CATEGORY_PRICE_SIGMA * random.nextGaussian());
+        }
+        this.skuCategory = new int[skus];
+        int[] takenBy = new int[categories];
+        Arrays.fill(takenBy, -1);
+        for (int brand = 0; brand < activeBrands; brand++) {
+            assignCategories(brand, takenBy, random);
+        }
+    }
+
+    public int size() {
+        return skus;
+    }
+
+    /**
+     * Number of brands that sell at least one item.
+     */
+    public int brands() {
+        return brandStart.length - 1;
+    }
+
+    public int categories() {
+        return categoryBasePrice.length;
+    }
+
+    public static String brandName(int rank) {
+        return String.format("Brand-%05d", rank);
+    }
+
+    public static String categoryName(int rank) {
+        return String.format("Category-%03d", rank);
+    }
+
+    public int brandOf(int sku) {
+        int index = Arrays.binarySearch(brandStart, sku);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int categoryOf(int sku) {
+        return skuCategory[sku];
+    }
+
+    /**
+     * Median price of the items in the category.
+     */
+    public double basePrice(int category) {
+        return categoryBasePrice[category];
+    }
+
+    public ZipfDistribution brandPopularity() {
+        return brandPopularity;
+    }
+
+    public ZipfDistribution categoryPopularity() {
+        return categoryPopularity;
+    }
+
+    /**
+     * Picks an existing item the way shoppers would: a brand by its popularity, then one of its items uniformly.
+     */
+    public int randomSku(RandomGenerator random) {
+        int brand = brandPopularity.sample(random);
+        return brandStart[brand] + random.nextInt(brandStart[brand + 1] - brandStart[brand]);
+    }
+
+    /**
+     * Hands the whole catalog to the sink as restock requests, {@code batchSize} at a time, in brand order.
+     */
+    public void generate(int batchSize, Consumer<List<InventoryRequest>> sink) {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        List<InventoryRequest> batch = new ArrayList<>(Math.min(batchSize, skus));
+        for (int sku = 0; sku < skus; sku++) {
+            int category = skuCategory[sku];
+            double price = categoryBasePrice[category] * Math.exp(ITEM_PRICE_SIGMA * random.nextGaussian());
+            batch.add(InventoryRequest.builder().brand(brandName(brandOf(sku))).category(categoryName(category))
+                    .price(charmPrice(price)).quantity(1 + random.nextInt(MAX_QUANTITY)).build());
+            if (batch.size() == batchSize) {
+                sink.accept(batch);
+                batch = new ArrayList<>(Math.min(batchSize, skus - sku - 1));
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+    }
+
+    /**
+     * Splits {@code skus} items over the brands in proportion to their Zipf weights, capping each brand at the number
+     * of categories. The scale is found by bisection so that the capped sizes add up to the catalog, and the items
+     * lost to rounding go to the largest brands that still have room. Sizes never increase with rank.
+     */
+    static int[] brandSizes(int skus, int brands, int categories, double exponent) {
+        ZipfDistribution zipf = new ZipfDistribution(brands, exponent);
+        double low = 0;
+        double high = categories / zipf.weight(brands - 1);
+        for (int i = 0; i < 100; i++) {
+            double scale = (low + high) / 2;
+            if (cappedSum(zipf, scale, categories) <= skus) {
+                low = scale;
+            } else {
+                high = scale;
+            }
+        }
+
+        int[] sizes = new int[brands];
+        long assigned = 0;
+        for (int brand = 0; brand < brands; brand++) {
+            sizes[brand] = (int) Math.min(categories, Math.floor(low * zipf.weight(brand)));
+            assigned += sizes[brand];
+        }
+        for (int brand = 0; assigned < skus; brand = (brand + 1) % brands) {
+            if (sizes[brand] < categories) {
+                sizes[brand]++;
+                assigned++;
+            }
+        }
+        return sizes;
+    }
+
+    private static double cappedSum(ZipfDistribution zipf, double scale, int categories) {
+        double sum = 0;
+        for (int brand = 0; brand < zipf.size(); brand++) {
+            sum += Math.min(categories, scale * zipf.weight(brand));
+        }
+        return sum;
+    }
+
+    /**
+     * Gives the brand's items distinct categories. Brands that sell in at least half the categories take the most
+     * popular ones; smaller brands draw by popularity, falling back to the most popular free category when the draws
+     * keep hitting taken ones.
+     */
+    private void assignCategories(int brand, int[] takenBy, SplittableRandom random) {
+        int from = brandStart[brand];
+        int count = brandStart[brand + 1] - from;
+        int categories = categoryBasePrice.length;
+        if (count * 2 >= categories) {
+            for (int i = 0; i < count; i++) {
+                skuCategory[from + i] = i;
+            }
+            return;
+        }
+        int fallback = 0;
+        for (int i = 0; i < count; i++) {
+            int category = -1;
+            for (int attempt = 0; attempt < MAX_CATEGORY_REJECTIONS && category < 0; attempt++) {
+                int candidate = categoryPopularity.sample(random);
+                if (takenBy[candidate] != brand) {
+                    category = candidate;
+                }
+            }
+            while (category < 0) {
+                if (takenBy[fallback] != brand) {
+                    category = fallback;
+                }
+                fallback++;
+            }
+            takenBy[category] = brand;
+            skuCategory[from + i] = category;
+        }
+    }
+
+    private static double charmPrice(double price) {
+        return Math.max(0.99, Math.round(price) - 0.01);
+    }
+}
@@ -0,0 +1,35 @@
+package com.groceryapp.service.catalog;
+
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.service.InventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the {@link SyntheticCatalogGenerator synthetic catalog} through the batch inventory path at startup, before
+ * the application reports ready. Only active when {@code catalog.generator.skus} is set.
+ */
+@Component
+@ConditionalOnExpression("${catalog.generator.skus:0} > 0")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticCatalogLoader implements ApplicationRunner {
+
+    private final SyntheticCatalogGenerator generator;
+    private final InventoryService inventoryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Loading synthetic catalog of {} items from {} brands in {} categories", generator.size(),
+                generator.brands(), generator.categories());
+        long start = System.nanoTime();
+        generator.generate(Constants.MAX_BATCH_SIZE, inventoryService::addInventoryBatch);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Loaded synthetic catalog of {} items in {} s ({} items/s)", generator.size(),
+                String.format("%.1f", seconds), Math.round(generator.size() / seconds));
+    }
+}
@@ -0,0 +1,50 @@
+package com.groceryapp.service.inventory;
+
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.exception.ServiceException;
+import com.groceryapp.repository.projection.InventoryChangeRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the inventory change feed: the modification time and id of the last change a client has seen. The next
+ * changes are the rows ordered strictly after it by {@code (updated_at, id)}, so rows written in the same instant are
+ * neither skipped nor repeated.
+ * <p>
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+public record ChangeToken(LocalDateTime updatedAt, long id) {
+
+    /**
+     * Position before every row, used when a client syncs for the first time.
+     */
+    public static final ChangeToken START = new ChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    public static ChangeToken of(InventoryChangeRow last) {
+        return new ChangeToken(last.updatedAt(), last.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, updatedAt.toString(), Long.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported token format");
+            }
+            return new ChangeToken(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Invalid change token", e);
+        }
+    }
+}
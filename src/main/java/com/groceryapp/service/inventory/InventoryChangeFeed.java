@@ -0,0 +1,273 @@
+package com.groceryapp.service.inventory;
+
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.constant.inventory.StockEventType;
+import com.groceryapp.dto.response.inventory.StockEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process feed of committed stock changes, kept in a bounded ring buffer. Writers claim the next sequence number,
+ * store their change in its slot and wake the subscribers; they never wait for a subscriber, so a slow consumer cannot
+ * hold up an inventory write.
+ * <p>
+ * Each subscriber has its own cursor into the ring and is drained on its own virtual thread, so a slow consumer only
+ * delays itself. A subscriber that falls more than {@code inventory.stream.buffer-size} changes behind finds its next
+ * slot overwritten; it is sent a resync event and continues from the newest change, and is expected to catch up
+ * through {@code GET /v1/inventory/changes}.
+ * <p>
+ * Event ids carry the process start time, like {@link InventoryVersions#etag}, so a client reconnecting with the id of
+ * the last event it saw resumes where it left off while that event is still buffered, and is told to resync
+ * otherwise.
+ */
+@Component
+@Slf4j
+public class InventoryChangeFeed {
+
+    private static final String ID_SEPARATOR = "-";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicReferenceArray<StockChange> ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final int defaultLowStockThreshold;
+    private final Executor executor;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    @Autowired
+    public InventoryChangeFeed(@Value("${inventory.stream.buffer-size:4096}") int bufferSize,
+            @Value("${inventory.stream.low-stock-threshold:5}") int defaultLowStockThreshold) {
+        this(bufferSize, defaultLowStockThreshold,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("inventory-stream-", 0).factory()));
+    }
+
+    InventoryChangeFeed(int bufferSize, int defaultLowStockThreshold, Executor executor) {
+        if (bufferSize < 2) {
+            throw new IllegalArgumentException("inventory.stream.buffer-size must be at least 2");
+        }
+        int capacity = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(bufferSize - 1));
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.defaultLowStockThreshold = defaultLowStockThreshold;
+        this.executor = executor;
+    }
+
+    /**
+     * Ends every subscription as soon as shutdown begins, so open streams do not hold up the web server's graceful
+     * shutdown.
+     */
+    @EventListener(ContextClosedEvent.class)
+    void closeSubscriptions() {
+        for (Subscription subscription : subscriptions) {
+            subscription.cancel();
+            subscription.subscriber.onClose();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    public int defaultLowStockThreshold() {
+        return defaultLowStockThreshold;
+    }
+
+    /**
+     * Records a committed change of the brand and category's stock and wakes the subscribers. Call it after the
+     * change has committed.
+     */
+    public void publish(String brand, String category, int previousQuantity, int quantity) {
+        long sequence = head.getAndIncrement();
+        ring.set(index(sequence),
+                new StockChange(sequence, brand, category, previousQuantity, quantity, LocalDateTime.now()));
+        published.increment();
+        for (Subscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    /**
+     * Starts delivering changes that match the filter to the subscriber, from the change after {@code lastEventId}
+     * when it is given and still buffered, and otherwise from the next change published. A subscriber whose
+     * {@code lastEventId} can no longer be resumed is sent a resync event first.
+     */
+    public Subscription subscribe(StockEventFilter filter, String lastEventId, Subscriber subscriber) {
+        long next = head.get();
+        boolean resync = false;
+        if (lastEventId != null) {
+            long resumeAt = resumePosition(lastEventId, next);
+            resync = resumeAt < 0;
+            next = resync ? next : resumeAt;
+        }
+        Subscription subscription = new Subscription(filter, subscriber, next, resync);
+        subscriptions.add(subscription);
+        subscription.signal();
+        return subscription;
+    }
+
+    /**
+     * Changes published, current subscribers, events delivered and resyncs sent.
+     */
+    public Map<String, Number> stats() {
+        Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("published", published.sum());
+        stats.put("subscribers", subscriptions.size());
+        stats.put("delivered", delivered.sum());
+        stats.put("resyncs", resyncs.sum());
+        return stats;
+    }
+
+    private long resumePosition(String lastEventId, long head) {
+        int separator = lastEventId.indexOf(ID_SEPARATOR);
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            long next = Long.parseLong(lastEventId.substring(separator + 1)) + 1;
+            return next >= 0 && next <= head && head - next <= ring.length() ? next : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + ID_SEPARATOR + sequence;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /**
+     * Receives the events of one subscription, always from a single thread at a time. A failure ends the
+     * subscription.
+     */
+    public interface Subscriber {
+
+        void onEvent(String id, StockEvent event) throws IOException;
+
+        /**
+         * The subscriber missed changes and should reload the inventory; events resume after {@code id}.
+         */
+        void onResync(String id) throws IOException;
+
+        void onFailure(Exception e);
+
+        /**
+         * The feed is shutting down and no more events will follow.
+         */
+        void onClose();
+    }
+
+    public final class Subscription {
+
+        private final StockEventFilter filter;
+        private final Subscriber subscriber;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private boolean resyncPending;
+        private long cursor;
+
+        private Subscription(StockEventFilter filter, Subscriber subscriber, long cursor, boolean resyncPending) {
+            this.filter = filter;
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+            this.resyncPending = resyncPending;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void signal() {
+            if (!cancelled && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Delivers everything published past the cursor. The drain clears its flag before re-checking for work, so a
+         * change published while it was finishing is either seen here or schedules the next drain.
+         */
+        private void drain() {
+            try {
+                do {
+                    deliver();
+                    scheduled.set(false);
+                } while (!cancelled && hasNext() && scheduled.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                log.debug("Stock stream subscriber failed: {}", e.getMessage());
+                cancel();
+                subscriber.onFailure(e);
+            }
+        }
+
+        private void deliver() throws IOException {
+            while (!cancelled) {
+                if (resyncPending) {
+                    resyncPending = false;
+                    resyncs.increment();
+                    subscriber.onResync(eventId(cursor - 1));
+                    continue;
+                }
+                StockChange change = ring.get(index(cursor));
+                if (change == null || change.sequence() < cursor) {
+                    return;
+                }
+                if (change.sequence() > cursor) {
+                    cursor = head.get();
+                    resyncPending = true;
+                    continue;
+                }
+                cursor++;
+                StockEventType type = filter.classify(change.previousQuantity(), change.quantity());
+                if (filter.matches(change.brand(), change.category(), type)) {
+                    subscriber.onEvent(eventId(change.sequence()), change.toEvent(type));
+                    delivered.increment();
+                }
+            }
+        }
+
+        private boolean hasNext() {
+            StockChange change = ring.get(index(cursor));
+            return change != null && change.sequence() >= cursor;
+        }
+    }
+
+    private record StockChange(long sequence, String brand, String category, int previousQuantity, int quantity,
+            LocalDateTime changedAt) {
+
+        StockEvent toEvent(StockEventType type) {
+            return StockEvent.builder().type(type).brand(brand).category(category).previousQuantity(previousQuantity)
+                    .quantity(quantity).status(quantity > 0 ? InventoryStatus.AVAILABLE : InventoryStatus.OUT_OF_STOCK)
+                    .changedAt(changedAt).build();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.groceryapp.service.inventory;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the inventory: one for the inventory as a whole and one per brand and per category. Every
+ * committed inventory write bumps the global version and the versions of the brand and category it touched, so
+ * anything derived from the inventory can tell whether it may have changed by comparing the versions it was computed
+ * at.
+ * <p>
+ * Versions only ever grow, so the sum of a set of versions changes exactly when one of them does, which is what
+ * {@link #stamp} relies on. They start from zero in every process, so {@link #etag} adds the process start time.
+ */
+@Component
+public class InventoryVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong global = new AtomicLong();
+    private final Map<String, AtomicLong> brands = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> categories = new ConcurrentHashMap<>();
+
+    /**
+     * Records a committed change to the inventory of the brand and category's item.
+     */
+    public void bump(String brand, String category) {
+        brands.computeIfAbsent(brand, key -> new AtomicLong()).incrementAndGet();
+        categories.computeIfAbsent(category, key -> new AtomicLong()).incrementAndGet();
+        global.incrementAndGet();
+    }
+
+    public long global() {
+        return global.get();
+    }
+
+    /**
+     * Returns a value that changes whenever inventory matching the given filters may have changed. A brand filter is
+     * covered by its brands' versions alone, since every matching row belongs to one of them; without one, the
+     * categories' versions are used, and without any filter the global version.
+     */
+    public long stamp(Collection<String> brandNames, Collection<String> categoryNames) {
+        if (brandNames != null && !brandNames.isEmpty()) {
+            return sum(brands, brandNames);
+        }
+        if (categoryNames != null && !categoryNames.isEmpty()) {
+            return sum(categories, categoryNames);
+        }
+        return global.get();
+    }
+
+    /**
+     * Returns the strong entity tag of a representation built from the inventory at the given version or stamp. Read
+     * the version before building the representation, so the tag is never newer than the body it is sent with.
+     */
+    public String etag(long version) {
+        return epoch + "-" + version;
+    }
+
+    private static long sum(Map<String, AtomicLong> versions, Collection<String> names) {
+        long sum = 0;
+        for (String name : names) {
+            AtomicLong version = versions.get(name);
+            if (version != null) {
+                sum += version.get();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,244 @@
+package com.groceryapp.service.inventory;
+
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.dto.response.inventory.InventoryResponse;
+import com.groceryapp.service.InventoryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional write-behind for {@code addInventory} (group commit). Requests are queued on a lock-free queue and a single
+ * background thread flushes them every {@code inventory.write-behind.flush-interval}, or as soon as
+ * {@code inventory.write-behind.max-batch} requests are waiting. A flush merges the requests for the same brand and
+ * category into one net delta (quantities summed, last price wins) and applies all of them in a single transaction.
+ * <p>
+ * Each caller gets a future that completes once the transaction holding its delta has committed, with the inventory
+ * as it stood after that flush. If the shared transaction fails, the flush falls back to applying its requests one by
+ * one, so a single bad request only fails its own future. Batch size and flush latency are available from
+ * {@link #stats()}.
+ */
+@Component
+@Slf4j
+public class InventoryWriteBehind {
+
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final Duration flushInterval;
+
+    private final Queue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public InventoryWriteBehind(InventoryService inventoryService, PlatformTransactionManager transactionManager,
+            @Value("${inventory.write-behind.enabled:false}") boolean enabled,
+            @Value("${inventory.write-behind.max-batch:500}") int maxBatch,
+            @Value("${inventory.write-behind.flush-interval:PT0.01S}") Duration flushInterval) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("inventory.write-behind.max-batch must be positive");
+        }
+        this.inventoryService = inventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "inventory-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Inventory write-behind enabled: max batch {}, flush interval {}", maxBatch, flushInterval);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(Duration.ofSeconds(5).toMillis());
+        while (flush() > 0) {
+            // drain whatever was queued while shutting down
+        }
+    }
+
+    /**
+     * Queues the request for the next flush.
+     *
+     * @param request The inventory to add.
+     * @return A future completed with the inventory once the request is durable, or with the exception that
+     *         {@code addInventory} would have thrown for it.
+     */
+    public CompletableFuture<InventoryResponse> submit(InventoryRequest request) {
+        PendingWrite write = new PendingWrite(request, new CompletableFuture<>());
+        queue.add(write);
+        if (pending.incrementAndGet() == maxBatch && flusher != null) {
+            LockSupport.unpark(flusher);
+        }
+        return write.future();
+    }
+
+    /**
+     * Counters for the flushes so far: how many flushes, requests and transactions there were, the mean and largest
+     * batch, and the mean and slowest flush in milliseconds.
+     */
+    public Map<String, Number> stats() {
+        long flushCount = flushes.sum();
+        long writeCount = writes.sum();
+        Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("pending", pending.get());
+        stats.put("flushes", flushCount);
+        stats.put("writes", writeCount);
+        stats.put("transactions", transactions.sum());
+        stats.put("meanBatchSize", flushCount == 0 ? 0.0 : (double) writeCount / flushCount);
+        stats.put("maxBatchSize", maxBatchSize.get());
+        stats.put("meanFlushMillis", flushCount == 0 ? 0.0 : flushNanos.sum() / 1e6 / flushCount);
+        stats.put("maxFlushMillis", maxFlushNanos.get() / 1e6);
+        return stats;
+    }
+
+    private void run() {
+        while (running) {
+            if (pending.get() < maxBatch) {
+                LockSupport.parkNanos(this, flushInterval.toNanos());
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Inventory write-behind flush failed", e);
+            }
+        }
+    }
+
+    /**
+     * Applies up to {@code max-batch} queued requests and completes their futures.
+     *
+     * @return The number of requests flushed.
+     */
+    int flush() {
+        List<PendingWrite> batch = new ArrayList<>(Math.min(pending.get(), maxBatch));
+        PendingWrite write;
+        while (batch.size() < maxBatch && (write = queue.poll()) != null) {
+            pending.decrementAndGet();
+            batch.add(write);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        Map<ItemKey, List<PendingWrite>> groups = new LinkedHashMap<>();
+        List<PendingWrite> singles = new ArrayList<>();
+        for (PendingWrite pendingWrite : batch) {
+            InventoryRequest request = pendingWrite.request();
+            if (isMergeable(request)) {
+                groups.computeIfAbsent(new ItemKey(request.getBrand(), request.getCategory()),
+                        key -> new ArrayList<>()).add(pendingWrite);
+            } else {
+                singles.add(pendingWrite);
+            }
+        }
+
+        if (!groups.isEmpty()) {
+            try {
+                Map<ItemKey, InventoryResponse> responses = transactionTemplate.execute(status -> {
+                    Map<ItemKey, InventoryResponse> applied = new LinkedHashMap<>();
+                    groups.forEach((key, group) -> applied.put(key, inventoryService.addInventory(merge(group))));
+                    return applied;
+                });
+                transactions.increment();
+                groups.forEach((key, group) -> group.forEach(member -> member.future().complete(responses.get(key))));
+            } catch (RuntimeException e) {
+                log.warn("Inventory write-behind batch of {} requests failed, applying them one by one: {}",
+                        batch.size(), e.getMessage());
+                groups.values().forEach(group -> group.forEach(this::applyAlone));
+            }
+        }
+        singles.forEach(this::applyAlone);
+
+        long elapsed = System.nanoTime() - started;
+        flushes.increment();
+        writes.add(batch.size());
+        flushNanos.add(elapsed);
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        return batch.size();
+    }
+
+    private void applyAlone(PendingWrite write) {
+        try {
+            write.future().complete(inventoryService.addInventory(write.request()));
+        } catch (RuntimeException e) {
+            write.future().completeExceptionally(e);
+        } finally {
+            transactions.increment();
+        }
+    }
+
+    /**
+     * Only well-formed requests are merged; anything else is applied on its own so it fails with the same error as a
+     * direct call.
+     */
+    private static boolean isMergeable(InventoryRequest request) {
+        return request != null && StringUtils.hasText(request.getBrand()) && StringUtils.hasText(request.getCategory())
+                && request.getQuantity() != null && request.getQuantity() > 0;
+    }
+
+    private static InventoryRequest merge(List<PendingWrite> group) {
+        InventoryRequest first = group.get(0).request();
+        InventoryRequest merged = InventoryRequest.builder().brand(first.getBrand()).category(first.getCategory())
+                .quantity(0).build();
+        for (PendingWrite write : group) {
+            merged.setQuantity(merged.getQuantity() + write.request().getQuantity());
+            if (write.request().getPrice() != null) {
+                merged.setPrice(write.request().getPrice());
+            }
+        }
+        return merged;
+    }
+
+    private record PendingWrite(InventoryRequest request, CompletableFuture<InventoryResponse> future) {
+    }
+
+    private record ItemKey(String brand, String category) {
+    }
+}
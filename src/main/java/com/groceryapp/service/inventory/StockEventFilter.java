@@ -0,0 +1,46 @@
+package com.groceryapp.service.inventory;
+
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.constant.inventory.StockEventType;
+import com.groceryapp.exception.ServiceException;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * What one stock stream subscriber wants to see. Empty brand, category and type sets match everything. The low-stock
+ * threshold is per subscriber, so the same change can be a {@link StockEventType#LOW_STOCK} alert for one subscriber
+ * and a plain {@link StockEventType#STOCK_CHANGED} event for another.
+ */
+public record StockEventFilter(Set<String> brands, Set<String> categories, Set<StockEventType> types,
+        int lowStockThreshold) {
+
+    public static StockEventFilter of(Collection<String> brands, Collection<String> categories,
+            Collection<StockEventType> types, int lowStockThreshold) {
+        if (lowStockThreshold < 0) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Low stock threshold must not be negative");
+        }
+        return new StockEventFilter(brands == null ? Set.of() : Set.copyOf(brands),
+                categories == null ? Set.of() : Set.copyOf(categories), types == null ? Set.of() : Set.copyOf(types),
+                lowStockThreshold);
+    }
+
+    /**
+     * A change that empties or refills the stock is a status transition; one that takes the stock from above the
+     * threshold to at or below it, without emptying it, is a low-stock alert.
+     */
+    public StockEventType classify(int previousQuantity, int quantity) {
+        if ((previousQuantity > 0) != (quantity > 0)) {
+            return StockEventType.STATUS_CHANGED;
+        }
+        if (quantity > 0 && quantity <= lowStockThreshold && previousQuantity > lowStockThreshold) {
+            return StockEventType.LOW_STOCK;
+        }
+        return StockEventType.STOCK_CHANGED;
+    }
+
+    public boolean matches(String brand, String category, StockEventType type) {
+        return (brands.isEmpty() || brands.contains(brand)) && (categories.isEmpty() || categories.contains(category))
+                && (types.isEmpty() || types.contains(type));
+    }
+}
@@ -0,0 +1,119 @@
+package com.groceryapp.service.reservation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free available-stock counter for one SKU. Reservations take stock with a CAS loop that never lets the count go
+ * below zero; releases and restocks add it back. The hot {@code available} word is padded on both sides so that
+ * counters of different SKUs never share a cache line under flash-sale contention.
+ * <p>
+ * Changes made through reservations are also accumulated in {@link #unflushed}, which the reservation service drains
+ * into the inventory table asynchronously. Restocks are already in the table and are not accumulated.
+ * <p>
+ * The counter remembers the stock version of the inventory row it was seeded from. A restock is only added if it wrote
+ * a later version, so a restock that committed before the row was read is not counted a second time when its
+ * after-commit notification arrives.
+ */
+public final class StockCounter extends StockCounterRhsPadding {
+
+    private static final VarHandle AVAILABLE;
+
+    static {
+        try {
+            AVAILABLE = MethodHandles.lookup().findVarHandle(StockCounterValue.class, "available", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long itemId;
+    private final long seededVersion;
+    private final LongAdder unflushed = new LongAdder();
+
+    public StockCounter(long itemId, long available, long seededVersion) {
+        this.itemId = itemId;
+        this.available = available;
+        this.seededVersion = seededVersion;
+    }
+
+    public long itemId() {
+        return itemId;
+    }
+
+    public long available() {
+        return available;
+    }
+
+    /**
+     * Takes {@code quantity} units if that many are available.
+     *
+     * @return whether the units were taken.
+     */
+    public boolean tryReserve(long quantity) {
+        long current;
+        do {
+            current = available;
+            if (current < quantity) {
+                return false;
+            }
+        } while (!AVAILABLE.compareAndSet(this, current, current - quantity));
+        unflushed.add(-quantity);
+        return true;
+    }
+
+    /**
+     * Returns units of a released or expired reservation.
+     */
+    public void release(long quantity) {
+        AVAILABLE.getAndAdd(this, quantity);
+        unflushed.add(quantity);
+    }
+
+    /**
+     * Applies a quantity change (a restock, or a negative adjustment) that was made directly in the inventory table,
+     * unless the counter was seeded from a row that already included it.
+     *
+     * @param stockVersion The stock version the restock wrote to the inventory row.
+     * @return whether the change was applied.
+     */
+    public boolean restock(long quantity, long stockVersion) {
+        if (stockVersion <= seededVersion) {
+            return false;
+        }
+        AVAILABLE.getAndAdd(this, quantity);
+        return true;
+    }
+
+    /**
+     * Removes and returns the net change not yet written to the inventory table. Concurrent changes are never lost;
+     * they are simply left for the next drain.
+     */
+    public long drainUnflushed() {
+        long delta = unflushed.sum();
+        if (delta != 0) {
+            unflushed.add(-delta);
+        }
+        return delta;
+    }
+
+    /**
+     * Puts back a drained change whose write failed, so the next drain retries it.
+     */
+    public void restoreUnflushed(long delta) {
+        unflushed.add(delta);
+    }
+}
+
+abstract class StockCounterLhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class StockCounterValue extends StockCounterLhsPadding {
+    volatile long available;
+}
+
+abstract class StockCounterRhsPadding extends StockCounterValue {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
@@ -0,0 +1,564 @@
+package com.groceryapp.service.search;
+
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.constant.search.SearchEngine;
+import com.groceryapp.dto.response.search.SearchResultItem;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.repository.InventoryRepository;
+import com.groceryapp.utils.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Resident, column-oriented copy of the searchable inventory fields. Price and quantity are kept in primitive arrays
+ * indexed by row, brand and category are dictionary-encoded to int ids, and every brand and category keeps a posting
+ * bitset of its rows. A query intersects the postings and scans the price column of the surviving rows only.
+ * <p>
+ * Rows are additionally kept in a price-sorted permutation (ties broken by inventory id, missing prices last), so a
+ * price range is located with two binary searches and only that slice is walked. Price-ordered results come out of
+ * the slice already sorted; the permutation is patched in place when a price changes.
+ * <p>
+ * The index is built from {@link InventoryRepository} at startup and kept in sync by the inventory service after each
+ * committed write. It is only populated when {@code search.engine=index}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventorySearchIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final InventoryRepository inventoryRepository;
+
+    @Value("${search.engine:database}")
+    private SearchEngine engine = SearchEngine.DATABASE;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary brands = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+    private final Map<Long, Integer> rowsByInventoryId = new HashMap<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private long[] stockVersions = new long[INITIAL_CAPACITY];
+    private int[] brandIds = new int[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private int[] byPrice = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public boolean isEnabled() {
+        return engine == SearchEngine.INDEX;
+    }
+
+    @PostConstruct
+    void build() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Inventory> inventory = inventoryRepository.findAll(Sort.by("id"));
+        lock.writeLock().lock();
+        try {
+            inventory.forEach(row -> apply(IndexRow.of(row), false));
+            for (int row = 0; row < size; row++) {
+                byPrice[row] = row;
+            }
+            heapSort(byPrice, size, false, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built inventory search index with {} rows", inventory.size());
+    }
+
+    /**
+     * Records the current state of an inventory row. The values are captured immediately and applied once the
+     * surrounding transaction commits. After-commit callbacks of two transactions on the same row can run in either
+     * order, so a state whose stock version is not newer than the indexed one is dropped.
+     */
+    public void update(Inventory inventory) {
+        if (!isEnabled()) {
+            return;
+        }
+        IndexRow row = IndexRow.of(inventory);
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                apply(row, true);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Answers a search from the index. Filters that are null or empty are ignored; rows without a price never match a
+     * price bound. Results are ordered like the in-memory comparator, with the inventory id as tie-breaker.
+     * <p>
+     * With a cursor the page starts right after the cursor position instead of at the pageable offset, and the total
+     * is not computed.
+     */
+    public IndexPage search(Collection<String> brandNames, Collection<String> categoryNames, Double minPrice,
+            Double maxPrice, Sort.Order order, Pageable pageable, SearchCursor after) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(brandNames, categoryNames);
+            boolean priceBound = minPrice != null || maxPrice != null;
+            int from = minPrice != null ? lowerBound(minPrice) : 0;
+            int to = maxPrice != null ? upperBound(maxPrice) : (priceBound ? lowerBound(Double.NaN) : size);
+            to = Math.max(from, to);
+
+            long knownTotal = -1;
+            if (after == null && candidates == null) {
+                knownTotal = to - from;
+            } else if (after == null && !priceBound) {
+                knownTotal = candidates.cardinality();
+            }
+            PageCollector page = new PageCollector(after != null ? 0 : pageable.getOffset(), pageable.getPageSize(),
+                    after == null && knownTotal < 0);
+
+            long scanned;
+            if (Constants.QUANTITY.equals(order.getProperty())) {
+                collectByQuantity(page, candidates, from, to, order.isAscending(), after);
+                scanned = to - from;
+            } else {
+                collectByPrice(page, candidates, from, to, order.isAscending(), after);
+                scanned = page.visited;
+            }
+            return page.toIndexPage(order, after == null ? (knownTotal >= 0 ? knownTotal : page.matched) : -1,
+                    scanned);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the price slice {@code [from, to)} in result order, stopping as soon as the page is complete unless the
+     * total still has to be counted. Descending order walks runs of equal price backwards but each run forwards,
+     * keeping ties in id order. A cursor is resolved with a binary search: ascending pages resume at the first
+     * position after it, descending pages first finish the cursor's own price run and then continue below it.
+     */
+    private void collectByPrice(PageCollector page, BitSet candidates, int from, int to, boolean ascending,
+            SearchCursor after) {
+        if (ascending) {
+            int start = after != null ? Math.max(from, seek(after)) : from;
+            for (int position = start; position < to; position++) {
+                if (!page.offer(byPrice[position], candidates)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        int end = to;
+        if (after != null) {
+            double key = after.key() != null ? after.key() : Double.NaN;
+            int runEnd = Math.min(to, upperBound(key));
+            for (int position = Math.max(from, seek(after)); position < runEnd; position++) {
+                if (!page.offer(byPrice[position], candidates)) {
+                    return;
+                }
+            }
+            end = Math.min(to, lowerBound(key));
+        }
+        while (end > from) {
+            int start = end - 1;
+            while (start > from && Double.compare(prices[byPrice[start - 1]], prices[byPrice[end - 1]]) == 0) {
+                start--;
+            }
+            for (int position = start; position < end; position++) {
+                if (!page.offer(byPrice[position], candidates)) {
+                    return;
+                }
+            }
+            end = start;
+        }
+    }
+
+    /**
+     * Quantity order does not follow the price slice, so every row of the slice is visited, but only the first
+     * {@code offset + pageSize + 1} matches in result order are kept, in a bounded max-heap whose root is the kept row
+     * that sorts last. Keyset pages have no offset, so their heap never holds more than the page and its look-ahead
+     * row. Matches beyond the heap are only counted, for the total.
+     */
+    private void collectByQuantity(PageCollector page, BitSet candidates, int from, int to, boolean ascending,
+            SearchCursor after) {
+        int limit = (int) Math.min(to - from, page.offset + page.rows.length);
+        int[] heap = new int[limit];
+        int kept = 0;
+        long matched = 0;
+        for (int position = from; position < to; position++) {
+            int row = byPrice[position];
+            if ((candidates == null || candidates.get(row))
+                    && (after == null || after.isBefore((double) quantities[row], ids[row]))) {
+                matched++;
+                if (kept < limit) {
+                    heap[kept] = row;
+                    siftUp(heap, kept++, true, ascending);
+                } else if (compareRows(row, heap[0], true, ascending) < 0) {
+                    heap[0] = row;
+                    siftDown(heap, 0, kept, true, ascending);
+                }
+            }
+        }
+        sortHeap(heap, kept, true, ascending);
+        for (int i = 0; i < kept; i++) {
+            if (!page.offer(heap[i], null)) {
+                break;
+            }
+        }
+        page.matched = matched;
+    }
+
+    /**
+     * First position in the price order that sorts after the cursor's (price, id) in ascending order.
+     */
+    private int seek(SearchCursor after) {
+        double key = after.key() != null ? after.key() : Double.NaN;
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int row = byPrice[mid];
+            int compared = Double.compare(prices[row], key);
+            if (compared < 0 || (compared == 0 && ids[row] <= after.id())) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private BitSet candidates(Collection<String> brandNames, Collection<String> categoryNames) {
+        BitSet candidates = null;
+        if (!CollectionUtils.isEmpty(brandNames)) {
+            candidates = brands.union(brandNames);
+        }
+        if (!CollectionUtils.isEmpty(categoryNames)) {
+            BitSet categoryRows = categories.union(categoryNames);
+            if (candidates == null) {
+                candidates = categoryRows;
+            } else {
+                candidates.and(categoryRows);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * First position in the price order whose price is not below {@code price}. NaN finds the start of the rows
+     * without a price.
+     */
+    private int lowerBound(double price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(prices[byPrice[mid]], price) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position in the price order whose price is above {@code price}.
+     */
+    private int upperBound(double price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(prices[byPrice[mid]], price) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void apply(IndexRow indexed, boolean maintainPriceOrder) {
+        Integer existing = rowsByInventoryId.get(indexed.id());
+        if (existing != null && indexed.stockVersion() <= stockVersions[existing]) {
+            return;
+        }
+        int row;
+        boolean reposition = maintainPriceOrder;
+        if (existing != null) {
+            row = existing;
+            brands.postings(brandIds[row]).clear(row);
+            categories.postings(categoryIds[row]).clear(row);
+            reposition &= Double.compare(prices[row], indexed.price()) != 0;
+            if (reposition) {
+                removeFromPriceOrder(row);
+            }
+        } else {
+            ensureCapacity(size + 1);
+            row = size;
+            rowsByInventoryId.put(indexed.id(), row);
+        }
+        ids[row] = indexed.id();
+        prices[row] = indexed.price();
+        quantities[row] = indexed.quantity();
+        stockVersions[row] = indexed.stockVersion();
+        brandIds[row] = brands.intern(indexed.brand());
+        categoryIds[row] = categories.intern(indexed.category());
+        brands.postings(brandIds[row]).set(row);
+        categories.postings(categoryIds[row]).set(row);
+
+        if (existing == null) {
+            if (reposition) {
+                insertIntoPriceOrder(row, size);
+            }
+            size++;
+        } else if (reposition) {
+            insertIntoPriceOrder(row, size - 1);
+        }
+    }
+
+    private void removeFromPriceOrder(int row) {
+        int position = lowerBound(prices[row]);
+        while (byPrice[position] != row) {
+            position++;
+        }
+        System.arraycopy(byPrice, position + 1, byPrice, position, size - position - 1);
+    }
+
+    /**
+     * Inserts the row into the first {@code count} entries of the price order, after any row with the same price and
+     * a lower id.
+     */
+    private void insertIntoPriceOrder(int row, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareRows(byPrice[mid], row, false, true) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        System.arraycopy(byPrice, low, byPrice, low + 1, count - low);
+        byPrice[low] = row;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        stockVersions = Arrays.copyOf(stockVersions, newCapacity);
+        brandIds = Arrays.copyOf(brandIds, newCapacity);
+        categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+        byPrice = Arrays.copyOf(byPrice, newCapacity);
+    }
+
+    /**
+     * Sorts the first {@code count} rows in place. Missing prices are stored as NaN, which {@link Double#compare}
+     * places after every number, matching the nulls-last ordering of the in-memory comparator.
+     */
+    private void heapSort(int[] rows, int count, boolean byQuantity, boolean ascending) {
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(rows, i, count, byQuantity, ascending);
+        }
+        sortHeap(rows, count, byQuantity, ascending);
+    }
+
+    /**
+     * Sorts the first {@code count} rows in place, given that they already form a max-heap.
+     */
+    private void sortHeap(int[] rows, int count, boolean byQuantity, boolean ascending) {
+        for (int end = count - 1; end > 0; end--) {
+            int top = rows[0];
+            rows[0] = rows[end];
+            rows[end] = top;
+            siftDown(rows, 0, end, byQuantity, ascending);
+        }
+    }
+
+    private void siftUp(int[] rows, int index, boolean byQuantity, boolean ascending) {
+        int row = rows[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compareRows(rows[parent], row, byQuantity, ascending) >= 0) {
+                break;
+            }
+            rows[index] = rows[parent];
+            index = parent;
+        }
+        rows[index] = row;
+    }
+
+    private void siftDown(int[] rows, int index, int count, boolean byQuantity, boolean ascending) {
+        int row = rows[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && compareRows(rows[child + 1], rows[child], byQuantity, ascending) > 0) {
+                child++;
+            }
+            if (compareRows(rows[child], row, byQuantity, ascending) <= 0) {
+                break;
+            }
+            rows[index] = rows[child];
+            index = child;
+        }
+        rows[index] = row;
+    }
+
+    private int compareRows(int a, int b, boolean byQuantity, boolean ascending) {
+        int result = byQuantity ? Integer.compare(quantities[a], quantities[b]) : Double.compare(prices[a], prices[b]);
+        if (!ascending) {
+            result = -result;
+        }
+        return result != 0 ? result : Long.compare(ids[a], ids[b]);
+    }
+
+    private SearchResultItem toSearchResultItem(int row) {
+        double price = prices[row];
+        return SearchResultItem.builder().brand(brands.name(brandIds[row]))
+                .category(categories.name(categoryIds[row])).price(Double.isNaN(price) ? null : price)
+                .quantity(quantities[row]).build();
+    }
+
+    /**
+     * One page of index results. {@code total} is -1 when it was not computed (keyset pages); {@code scanned} is the
+     * number of rows of the price slice that were visited to build the page.
+     */
+    public record IndexPage(List<SearchResultItem> content, long total, SearchCursor nextCursor, long scanned) {
+    }
+
+    /**
+     * Accumulates the rows of one page, plus one look-ahead row to tell whether a next page exists.
+     */
+    private final class PageCollector {
+        private final long offset;
+        private final int pageSize;
+        private final boolean counting;
+        private final int[] rows;
+        private int collected;
+        private long matched;
+        private long visited;
+
+        PageCollector(long offset, int pageSize, boolean counting) {
+            this.offset = offset;
+            this.pageSize = pageSize;
+            this.counting = counting;
+            this.rows = new int[pageSize + 1];
+        }
+
+        /**
+         * Offers the next row in result order; returns false once nothing more needs to be visited.
+         */
+        boolean offer(int row, BitSet candidates) {
+            visited++;
+            if (candidates != null && !candidates.get(row)) {
+                return true;
+            }
+            if (matched >= offset && collected < rows.length) {
+                rows[collected++] = row;
+            }
+            matched++;
+            return counting || collected < rows.length;
+        }
+
+        IndexPage toIndexPage(Sort.Order order, long total, long scanned) {
+            int count = Math.min(collected, pageSize);
+            List<SearchResultItem> content = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                content.add(toSearchResultItem(rows[i]));
+            }
+            SearchCursor next = null;
+            if (collected > pageSize) {
+                int last = rows[pageSize - 1];
+                Double key = Constants.QUANTITY.equals(order.getProperty()) ? Double.valueOf(quantities[last])
+                        : (Double.isNaN(prices[last]) ? null : prices[last]);
+                next = new SearchCursor(order.getProperty(), order.getDirection(), key, ids[last]);
+            }
+            return new IndexPage(content, total, next, scanned);
+        }
+    }
+
+    private record IndexRow(long id, String brand, String category, double price, int quantity, long stockVersion) {
+
+        static IndexRow of(Inventory inventory) {
+            Double price = inventory.getItem().getPrice();
+            return new IndexRow(inventory.getId(), inventory.getItem().getBrand().getName(),
+                    inventory.getItem().getCategory().getName(), price != null ? price : Double.NaN,
+                    inventory.getQuantity(), inventory.getStockVersion());
+        }
+    }
+
+    /**
+     * Maps names to dense int ids and keeps the posting bitset of every id.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> idsByName = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<BitSet> postings = new ArrayList<>();
+
+        int intern(String name) {
+            Integer id = idsByName.get(name);
+            if (id != null) {
+                return id;
+            }
+            int newId = names.size();
+            idsByName.put(name, newId);
+            names.add(name);
+            postings.add(new BitSet());
+            return newId;
+        }
+
+        String name(int id) {
+            return names.get(id);
+        }
+
+        BitSet postings(int id) {
+            return postings.get(id);
+        }
+
+        BitSet union(Collection<String> filter) {
+            BitSet rows = new BitSet();
+            for (String name : filter) {
+                Integer id = idsByName.get(name);
+                if (id != null) {
+                    rows.or(postings.get(id));
+                }
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.groceryapp.service.search;
+
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.exception.ServiceException;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.repository.projection.InventorySearchRow;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a search page, used for keyset pagination. It records the sort the page was produced
+ * with, the sort key of the last row (null for a missing price, never null for quantity) and its inventory id, which
+ * breaks ties. The next page is every row that sorts strictly after this position.
+ * <p>
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+public record SearchCursor(String sortField, Sort.Direction direction, Double key, long id) {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = ":";
+    private static final String MISSING_KEY = "-";
+
+    public static SearchCursor of(Sort.Order order, Inventory last) {
+        return of(order, last.getItem().getPrice(), last.getQuantity(), last.getId());
+    }
+
+    public static SearchCursor of(Sort.Order order, InventorySearchRow last) {
+        return of(order, last.price(), last.quantity(), last.id());
+    }
+
+    private static SearchCursor of(Sort.Order order, Double price, Integer quantity, long id) {
+        Double key = Constants.QUANTITY.equals(order.getProperty()) ? Double.valueOf(quantity) : price;
+        return new SearchCursor(order.getProperty(), order.getDirection(), key, id);
+    }
+
+    public boolean isAscending() {
+        return direction == Sort.Direction.ASC;
+    }
+
+    public boolean isQuantity() {
+        return Constants.QUANTITY.equals(sortField);
+    }
+
+    /**
+     * Whether a row with the given sort key and id comes after this cursor. Missing prices sort last when ascending
+     * and first when descending; equal keys are ordered by id.
+     */
+    public boolean isBefore(Double rowKey, long rowId) {
+        int compared = compareKeys(rowKey, key);
+        if (!isAscending()) {
+            compared = -compared;
+        }
+        return compared > 0 || (compared == 0 && rowId > id);
+    }
+
+    /**
+     * Ensures the cursor was issued for the sort of the current request.
+     */
+    public SearchCursor requireOrder(Sort.Order order) {
+        if (!sortField.equals(order.getProperty()) || direction != order.getDirection()) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Cursor does not match the requested sort");
+        }
+        return this;
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sortField, direction.name(),
+                key != null ? Double.toString(key) : MISSING_KEY, Long.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            Double key = MISSING_KEY.equals(parts[3]) ? null : Double.valueOf(parts[3]);
+            if (key == null && Constants.QUANTITY.equals(parts[1])) {
+                throw new IllegalArgumentException("Quantity cursor without a sort key");
+            }
+            return new SearchCursor(parts[1], Sort.Direction.valueOf(parts[2]), key, Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    private static int compareKeys(Double a, Double b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return Double.compare(a, b);
+    }
+}
@@ -0,0 +1,25 @@
+package com.groceryapp.service.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Normalized form of a search request, used as the key of the {@link SearchResultCache}. Brand and category filters
+ * are de-duplicated and sorted, so requests that only differ in the order of their filters share an entry.
+ */
+public record SearchKey(List<String> brands, List<String> categories, Double minPrice, Double maxPrice,
+        String sortField, Sort.Direction direction, int page, int size, String cursor) {
+
+    public static SearchKey of(Collection<String> brands, Collection<String> categories, Double minPrice,
+            Double maxPrice, Sort.Order order, Pageable pageable, String cursor) {
+        return new SearchKey(normalize(brands), normalize(categories), minPrice, maxPrice, order.getProperty(),
+                order.getDirection(), pageable.getPageNumber(), pageable.getPageSize(), cursor);
+    }
+
+    private static List<String> normalize(Collection<String> names) {
+        return names == null ? List.of() : names.stream().distinct().sorted().toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.groceryapp.service.search;
+
+import com.groceryapp.constant.search.SearchEngine;
+import com.groceryapp.constant.search.SearchPhase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of the search pipeline.
+ * <ul>
+ * <li>{@code search.phase} times every {@link SearchPhase phase} of a search, tagged with the phase, the engine, the
+ * filter shape (which of brand, category and price filters were given, e.g. {@code brand+price} or {@code none}) and
+ * the sort field.</li>
+ * <li>{@code search.rows.scanned}, {@code search.rows.matched} and {@code search.rows.returned} count the rows an
+ * engine examined in process, the rows that matched the filters and the rows on the page, with the same tags except
+ * the phase. Rows the database examines on its own are not visible here, so database searches only record matched
+ * and returned rows.</li>
+ * </ul>
+ * There are only a few dozen tag combinations; their meters are created on first use and cached, so recording costs
+ * a map lookup and the meter update. Percentiles and histograms are configured with the usual
+ * {@code management.metrics.distribution.*} properties.
+ */
+@Component
+public class SearchMetrics {
+
+    /**
+     * Request attribute under which the search controller leaves the {@link Shape} of the search for the
+     * serialization timer.
+     */
+    public static final String SHAPE_ATTRIBUTE = SearchMetrics.class.getName() + ".shape";
+
+    private final MeterRegistry registry;
+    private final String engine;
+    private final Map<PhaseKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<RowsKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public SearchMetrics(MeterRegistry registry, @Value("${search.engine:database}") SearchEngine engine) {
+        this.registry = registry;
+        this.engine = engine.name().toLowerCase();
+    }
+
+    /**
+     * Tags of a search: which filters it has and what it sorts by.
+     */
+    public record Shape(String filter, String sort) {
+    }
+
+    public static Shape shape(Collection<String> brands, Collection<String> categories, Double minPrice,
+            Double maxPrice, String sortField) {
+        StringJoiner filter = new StringJoiner("+").setEmptyValue("none");
+        if (!CollectionUtils.isEmpty(brands)) {
+            filter.add("brand");
+        }
+        if (!CollectionUtils.isEmpty(categories)) {
+            filter.add("category");
+        }
+        if (minPrice != null || maxPrice != null) {
+            filter.add("price");
+        }
+        return new Shape(filter.toString(), sortField);
+    }
+
+    /**
+     * Runs the step and records its duration under the phase, whether it returns or throws.
+     */
+    public <T> T time(SearchPhase phase, Shape shape, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            record(phase, shape, System.nanoTime() - start);
+        }
+    }
+
+    public void record(SearchPhase phase, Shape shape, long nanos) {
+        timers.computeIfAbsent(new PhaseKey(phase, shape),
+                key -> Timer.builder("search.phase").description("Time spent in each phase of a search")
+                        .tag("phase", phase.tag()).tag("engine", engine).tag("filter", shape.filter())
+                        .tag("sort", shape.sort()).register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the row counts of one search; a negative count is not known and not recorded.
+     */
+    public void rows(Shape shape, long scanned, long matched, long returned) {
+        recordRows("scanned", shape, scanned);
+        recordRows("matched", shape, matched);
+        recordRows("returned", shape, returned);
+    }
+
+    private void recordRows(String stage, Shape shape, long rows) {
+        if (rows < 0) {
+            return;
+        }
+        summaries.computeIfAbsent(new RowsKey(stage, shape),
+                key -> DistributionSummary.builder("search.rows." + stage).baseUnit("rows")
+                        .description("Rows " + stage + " per search").tag("engine", engine)
+                        .tag("filter", shape.filter()).tag("sort", shape.sort()).register(registry))
+                .record(rows);
+    }
+
+    private record PhaseKey(SearchPhase phase, Shape shape) {
+    }
+
+    private record RowsKey(String stage, Shape shape) {
+    }
+}
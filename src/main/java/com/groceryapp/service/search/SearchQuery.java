@@ -0,0 +1,165 @@
+package com.groceryapp.service.search;
+
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.model.Inventory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled plan of a search: the brand and category filters trimmed and de-duplicated into hash sets, the price
+ * bounds, the resolved sort order and everything derived from them once, the in-memory filter predicate and sort
+ * comparator and the metric tags. Plans are immutable and shared between concurrent searches, so a plan built for one
+ * request can be reused for every later request with the same filters and sort.
+ */
+public final class SearchQuery {
+
+    private final Set<String> brands;
+    private final Set<String> categories;
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final Sort.Order order;
+    private final Predicate<Inventory> filter;
+    private final Comparator<Inventory> comparator;
+    private final SearchMetrics.Shape shape;
+
+    private SearchQuery(Set<String> brands, Set<String> categories, Double minPrice, Double maxPrice,
+            Sort.Order order) {
+        this.brands = brands;
+        this.categories = categories;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.order = order;
+        this.filter = filter(brands, categories, minPrice, maxPrice);
+        this.comparator = comparator(order);
+        this.shape = SearchMetrics.shape(brands, categories, minPrice, maxPrice, order.getProperty());
+    }
+
+    /**
+     * Compiles a plan. Blank names are dropped; a null order sorts by the default field, ascending. Nothing is
+     * validated here, see {@link com.groceryapp.validations.search.SearchQueryParser} for request parameters.
+     */
+    public static SearchQuery of(Collection<String> brands, Collection<String> categories, Double minPrice,
+            Double maxPrice, Sort.Order order) {
+        return new SearchQuery(normalize(brands), normalize(categories), minPrice, maxPrice,
+                order != null ? order : Sort.Order.asc(Constants.DEFAULT_SORT_FIELD));
+    }
+
+    /**
+     * The plan for the filters with the first order of the pageable's sort.
+     */
+    public static SearchQuery of(Collection<String> brands, Collection<String> categories, Double minPrice,
+            Double maxPrice, Pageable pageable) {
+        return of(brands, categories, minPrice, maxPrice,
+                pageable.getSort().isSorted() ? pageable.getSort().toList().get(0) : null);
+    }
+
+    public Set<String> brands() {
+        return brands;
+    }
+
+    public Set<String> categories() {
+        return categories;
+    }
+
+    public Double minPrice() {
+        return minPrice;
+    }
+
+    public Double maxPrice() {
+        return maxPrice;
+    }
+
+    public Sort.Order order() {
+        return order;
+    }
+
+    /**
+     * Matches inventory rows against all filters of the plan.
+     */
+    public Predicate<Inventory> filter() {
+        return filter;
+    }
+
+    /**
+     * Orders inventory rows by the plan's sort field and direction, null prices last.
+     */
+    public Comparator<Inventory> comparator() {
+        return comparator;
+    }
+
+    public SearchMetrics.Shape shape() {
+        return shape;
+    }
+
+    public Pageable pageable(int page, int size) {
+        return PageRequest.of(page, size, Sort.by(order));
+    }
+
+    /**
+     * Sorts inventory by the order's property, quantity or price, falling back to price for anything else.
+     */
+    public static Comparator<Inventory> comparator(Sort.Order order) {
+        Comparator<Inventory> comparator = Constants.QUANTITY.equals(order.getProperty())
+                ? Comparator.comparingInt(Inventory::getQuantity)
+                : Comparator.comparing(inv -> inv.getItem().getPrice(),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+        return order.getDirection() == Sort.Direction.ASC ? comparator : comparator.reversed();
+    }
+
+    /**
+     * Chains only the checks the filters need, so a plan without filters matches every row without testing any.
+     */
+    private static Predicate<Inventory> filter(Set<String> brands, Set<String> categories, Double minPrice,
+            Double maxPrice) {
+        Predicate<Inventory> filter = null;
+        if (!brands.isEmpty()) {
+            filter = and(filter, inv -> brands.contains(inv.getItem().getBrand().getName()));
+        }
+        if (!categories.isEmpty()) {
+            filter = and(filter, inv -> categories.contains(inv.getItem().getCategory().getName()));
+        }
+        if (minPrice != null) {
+            double min = minPrice;
+            filter = and(filter, inv -> {
+                Double price = inv.getItem().getPrice();
+                return price != null && price >= min;
+            });
+        }
+        if (maxPrice != null) {
+            double max = maxPrice;
+            filter = and(filter, inv -> {
+                Double price = inv.getItem().getPrice();
+                return price != null && price <= max;
+            });
+        }
+        return filter != null ? filter : inv -> true;
+    }
+
+    private static Predicate<Inventory> and(Predicate<Inventory> first, Predicate<Inventory> second) {
+        return first != null ? first.and(second) : second;
+    }
+
+    /**
+     * Trims the names and drops blank ones and duplicates, as every plan does with its brand and category filters.
+     */
+    public static Set<String> normalize(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return Set.of();
+        }
+        return names.stream().filter(StringUtils::hasText).map(String::trim).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public String toString() {
+        return "SearchQuery[brands=" + brands + ", categories=" + categories + ", minPrice=" + minPrice
+                + ", maxPrice=" + maxPrice + ", order=" + order + "]";
+    }
+}
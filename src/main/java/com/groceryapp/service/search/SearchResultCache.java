@@ -0,0 +1,121 @@
+package com.groceryapp.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.groceryapp.dto.response.common.PaginatedResponse;
+import com.groceryapp.dto.response.search.SearchResultItem;
+import com.groceryapp.service.inventory.InventoryVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of search pages keyed by the normalized {@link SearchKey}. Each page is stored with the
+ * {@link InventoryVersions#stamp inventory version stamp} of its filters, read before the search ran, and is only
+ * served while that stamp is unchanged. A restock therefore only invalidates the pages whose brand or category
+ * filters it could affect, and the invalidation costs nothing until the page is asked for again.
+ * <p>
+ * The cache is bounded by the estimated size of its pages ({@code search.cache.max-size}), and pages larger than
+ * {@code search.cache.max-entry-size} are never stored. Cached pages are shared between callers and must not be
+ * modified.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final long PAGE_OVERHEAD_BYTES = 128;
+    private static final long ITEM_OVERHEAD_BYTES = 96;
+
+    private final InventoryVersions versions;
+    private final boolean enabled;
+    private final long maxEntryBytes;
+    private final Cache<SearchKey, CachedPage> pages;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+
+    public SearchResultCache(InventoryVersions versions, @Value("${search.cache.enabled:true}") boolean enabled,
+            @Value("${search.cache.max-size:32MB}") DataSize maxSize,
+            @Value("${search.cache.max-entry-size:64KB}") DataSize maxEntrySize) {
+        this.versions = versions;
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.pages = Caffeine.newBuilder().maximumWeight(maxSize.toBytes())
+                .weigher((SearchKey key, CachedPage page) -> (int) Math.min(Integer.MAX_VALUE, page.bytes()))
+                .recordStats().build();
+    }
+
+    /**
+     * Returns the cached page for the key if the inventory it covers has not changed since it was stored, and
+     * otherwise runs the search and caches its result. Failed searches are not cached.
+     */
+    public PaginatedResponse<SearchResultItem> get(SearchKey key, Supplier<PaginatedResponse<SearchResultItem>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        long stamp = versions.stamp(key.brands(), key.categories());
+        CachedPage cached = pages.getIfPresent(key);
+        if (cached != null && cached.stamp() == stamp) {
+            hits.increment();
+            return cached.page();
+        }
+        misses.increment();
+        if (cached != null) {
+            stale.increment();
+        }
+
+        PaginatedResponse<SearchResultItem> page = search.get();
+        long bytes = estimateBytes(page);
+        if (bytes <= maxEntryBytes) {
+            pages.put(key, new CachedPage(page, stamp, bytes));
+        } else {
+            oversized.increment();
+        }
+        return page;
+    }
+
+    /**
+     * Hit and miss counts and ratio (a stale entry counts as a miss), the number of entries and their estimated size
+     * in bytes, evictions, and pages that were too large to cache.
+     */
+    public Map<String, Number> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Number> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("stale", stale.sum());
+        stats.put("entries", pages.estimatedSize());
+        stats.put("bytes", pages.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+        stats.put("evictions", pages.stats().evictionCount());
+        stats.put("oversized", oversized.sum());
+        return stats;
+    }
+
+    /**
+     * Rough retained size of a page: fixed overheads per page and row plus two bytes per character of its strings.
+     */
+    static long estimateBytes(PaginatedResponse<SearchResultItem> page) {
+        long bytes = PAGE_OVERHEAD_BYTES + chars(page.getNextCursor());
+        if (page.getResults() != null) {
+            for (SearchResultItem item : page.getResults()) {
+                bytes += ITEM_OVERHEAD_BYTES + chars(item.getBrand()) + chars(item.getCategory());
+            }
+        }
+        return bytes;
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+
+    private record CachedPage(PaginatedResponse<SearchResultItem> page, long stamp, long bytes) {
+    }
+}
@@ -1,8 +1,10 @@
 package com.groceryapp.service.serviceImpl;
 
+import com.groceryapp.constant.common.Constants;
 import com.groceryapp.constant.common.ErrorCode;
-import com.groceryapp.constant.inventory.InventoryStatus;
 import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.dto.response.inventory.InventoryBatchResponse;
+import com.groceryapp.dto.response.inventory.InventoryChangesResponse;
 import com.groceryapp.dto.response.inventory.InventoryResponse;
 import com.groceryapp.exception.ServiceException;
 import com.groceryapp.model.Brand;
@@ -13,135 +15,340 @@ import com.groceryapp.repository.BrandRepository;
 import com.groceryapp.repository.CategoryRepository;
 import com.groceryapp.repository.InventoryRepository;
 import com.groceryapp.repository.ItemRepository;
+import com.groceryapp.repository.projection.InventoryChangeRow;
 import com.groceryapp.service.InventoryService;
+import com.groceryapp.service.ReservationService;
+import com.groceryapp.service.catalog.CatalogCache;
+import com.groceryapp.service.inventory.ChangeToken;
+import com.groceryapp.service.inventory.InventoryChangeFeed;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.search.InventorySearchIndex;
+import com.groceryapp.utils.TransactionUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryServiceImpl implements InventoryService {
 
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final BrandRepository brandRepository;
     private final CategoryRepository categoryRepository;
     private final ItemRepository itemRepository;
     private final InventoryRepository inventoryRepository;
+    private final InventorySearchIndex searchIndex;
+    private final CatalogCache catalogCache;
+    private final InventoryVersions inventoryVersions;
+    private final InventoryChangeFeed changeFeed;
+    private final ReservationService reservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor inventoryTaskExecutor;
+
+    @Value("${inventory.changes.settle-window:PT1S}")
+    private Duration changesSettleWindow = Duration.ofSeconds(1);
 
     /**
      * Adds inventory for a given item, creating the brand, category, and item if they do not already exist.
      * Updates the inventory quantity accordingly.
+     * <p>
+     * Brand and category names are trimmed once, the same way search filters are, and used as-is for the catalog, the
+     * inventory versions, the reservation counters and the change feed. Brand and category ids come from the catalog
+     * cache before any transaction is opened. The item and its inventory row are then each created or updated with a
+     * single MERGE, and the row is read back once for the response and the search index.
      *
      * @param request The inventory request containing brand, category, price, and quantity details.
      * @return The updated inventory response after adding the inventory.
-     * @throws ServiceException If there is an invalid request or insufficient inventory.
+     * @throws ServiceException If there is an invalid request.
      */
     @Override
-    @Transactional
     public InventoryResponse addInventory(InventoryRequest request) {
-        Brand brand = getBrandByName(request.getBrand());
-        Category category = getCategoryByName(request.getCategory());
-        Item item = getOrCreateItem(brand, category, request.getPrice());
-        return updateInventory(item, request.getQuantity(), true);
+        validateRequest(request);
+        String brand = request.getBrand().trim();
+        String category = request.getCategory().trim();
+        long brandId = catalogCache.brandId(brand);
+        long categoryId = catalogCache.categoryId(category);
+        Inventory inventory = inTransaction(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            itemRepository.upsert(brandId, categoryId, request.getPrice(), now);
+            inventoryRepository.upsertQuantity(brandId, categoryId, request.getQuantity(), now);
+            Inventory merged = inventoryRepository.findByItemBrandIdAndItemCategoryId(brandId, categoryId)
+                    .orElseThrow(() -> new ServiceException(ErrorCode.INVENTORY_ITEM_NOT_FOUND,
+                            "Inventory not found for the item"));
+            searchIndex.update(merged);
+            int quantity = merged.getQuantity();
+            long stockVersion = merged.getStockVersion();
+            TransactionUtils.afterCommit(() -> {
+                inventoryVersions.bump(brand, category);
+                reservationService.restocked(brand, category, request.getQuantity(), stockVersion);
+                changeFeed.publish(brand, category, quantity - request.getQuantity(), quantity);
+            });
+            return merged;
+        });
+        return InventoryResponse.builder().brand(brand).category(category).quantity(inventory.getQuantity())
+                .status(inventory.getStatus()).build();
     }
 
     /**
-     * Retrieves all inventory items Asynchronously, mapping them to a list of InventoryResponse objects.
+     * Adds inventory for a whole feed of requests in one transaction. Requests for the same brand and category are
+     * merged first (quantities summed, last price wins), then brands, categories, items and inventory rows are each
+     * resolved with a single IN query and written with JDBC batching. The batch is validated up front and rejected as
+     * a whole if any request is invalid.
      *
-     * @return A list of inventory responses.
+     * @param requests The inventory requests to apply.
+     * @return A summary of how many items were touched and what had to be created.
+     * @throws ServiceException If the batch is empty, too large, or contains an invalid request.
      */
     @Override
-    @Async
-    public CompletableFuture<List<InventoryResponse>> getAllInventory() {
-        List<Inventory> inventoryList = inventoryRepository.findAll();
-        List<InventoryResponse> inventoryResponses = inventoryList.stream()
-                .map(this::mapToInventoryResponse)
-                .collect(Collectors.toList());
-        return CompletableFuture.completedFuture(inventoryResponses);
-    }
+    @Transactional
+    public InventoryBatchResponse addInventoryBatch(List<InventoryRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > Constants.MAX_BATCH_SIZE) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST,
+                    "Batch must contain between 1 and " + Constants.MAX_BATCH_SIZE + " requests");
+        }
+
+        Map<ItemKey, InventoryRequest> merged = new LinkedHashMap<>();
+        for (InventoryRequest request : requests) {
+            validateRequest(request);
+            ItemKey key = new ItemKey(request.getBrand().trim(), request.getCategory().trim());
+            merged.merge(key, copyOf(request), (current, next) -> {
+                current.setQuantity(current.getQuantity() + next.getQuantity());
+                if (next.getPrice() != null) {
+                    current.setPrice(next.getPrice());
+                }
+                return current;
+            });
+        }
+
+        Map<String, Brand> brands = brandRepository
+                .findByNameIn(merged.keySet().stream().map(ItemKey::brand).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Brand::getName, Function.identity()));
+        List<Brand> newBrands = merged.keySet().stream().map(ItemKey::brand).distinct()
+                .filter(name -> !brands.containsKey(name)).map(name -> {
+                    Brand brand = new Brand();
+                    brand.setName(name);
+                    return brand;
+                }).collect(Collectors.toList());
+        brandRepository.saveAll(newBrands).forEach(brand -> brands.put(brand.getName(), brand));
 
+        Map<String, Category> categories = categoryRepository
+                .findByNameIn(merged.keySet().stream().map(ItemKey::category).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Category::getName, Function.identity()));
+        List<Category> newCategories = merged.keySet().stream().map(ItemKey::category).distinct()
+                .filter(name -> !categories.containsKey(name)).map(name -> {
+                    Category category = new Category();
+                    category.setName(name);
+                    return category;
+                }).collect(Collectors.toList());
+        categoryRepository.saveAll(newCategories).forEach(category -> categories.put(category.getName(), category));
 
-    private Brand getBrandByName(String brandName) {
-        return brandRepository.findByName(brandName).orElseGet(() -> {
-            Brand newBrand = new Brand();
-            newBrand.setName(brandName);
-            return brandRepository.save(newBrand);
+        Map<ItemKey, Item> items = new HashMap<>();
+        List<Item> existingItems = itemRepository.findByBrandInAndCategoryIn(brands.values(), categories.values());
+        existingItems.forEach(item -> items.put(ItemKey.of(item), item));
+        List<Item> newItems = new ArrayList<>();
+        merged.forEach((key, request) -> {
+            Item item = items.get(key);
+            if (item == null) {
+                item = new Item();
+                item.setBrand(brands.get(key.brand()));
+                item.setCategory(categories.get(key.category()));
+                item.setPrice(request.getPrice());
+                items.put(key, item);
+                newItems.add(item);
+            } else if (request.getPrice() != null && !Objects.equals(item.getPrice(), request.getPrice())) {
+                item.setPrice(request.getPrice());
+            }
         });
-    }
+        itemRepository.saveAll(newItems);
 
-    private Category getCategoryByName(String categoryName) {
-        return categoryRepository.findByName(categoryName).orElseGet(() -> {
-            Category newCategory = new Category();
-            newCategory.setName(categoryName);
-            return categoryRepository.save(newCategory);
+        Map<ItemKey, Inventory> inventoryByKey = inventoryRepository.findByItemIn(existingItems).stream()
+                .collect(Collectors.toMap(inventory -> ItemKey.of(inventory.getItem()), Function.identity()));
+        List<Inventory> inventories = new ArrayList<>(merged.size());
+        Map<ItemKey, Integer> quantities = new HashMap<>();
+        Map<ItemKey, Long> stockVersions = new HashMap<>();
+        merged.forEach((key, request) -> {
+            Inventory inventory = inventoryByKey.computeIfAbsent(key, missing -> {
+                Inventory newInventory = new Inventory();
+                newInventory.setItem(items.get(key));
+                newInventory.setQuantity(0);
+                return newInventory;
+            });
+            inventory.setQuantity(inventory.getQuantity() + request.getQuantity());
+            inventory.setStockVersion(inventory.getStockVersion() + 1);
+            inventory.updateStatus();
+            inventories.add(inventory);
+            quantities.put(key, inventory.getQuantity());
+            stockVersions.put(key, inventory.getStockVersion());
         });
+        inventoryRepository.saveAll(inventories).forEach(searchIndex::update);
+        TransactionUtils.afterCommit(() -> merged.forEach((key, request) -> {
+            inventoryVersions.bump(key.brand(), key.category());
+            reservationService.restocked(key.brand(), key.category(), request.getQuantity(), stockVersions.get(key));
+            int quantity = quantities.get(key);
+            changeFeed.publish(key.brand(), key.category(), quantity - request.getQuantity(), quantity);
+        }));
+
+        log.info("Applied inventory batch of {} requests to {} items", requests.size(), merged.size());
+        return InventoryBatchResponse.builder().received(requests.size()).items(merged.size())
+                .brandsCreated(newBrands.size()).categoriesCreated(newCategories.size()).itemsCreated(newItems.size())
+                .build();
     }
 
-    private Item getOrCreateItem(Brand brand, Category category, Double price) {
-        Optional<Item> existingItem = itemRepository.findByCategoryAndBrand(category, brand);
+    /**
+     * Retrieves all inventory items Asynchronously on the inventory task executor, projected straight into
+     * InventoryResponse objects.
+     * <p>
+     * Rows are read over the same cursor as {@link #streamAllInventory}, and cancelling the returned future stops the
+     * read at the next row, closing the cursor and releasing the connection. A future cancelled before its task
+     * starts never touches the database.
+     *
+     * @return A list of inventory responses.
+     * @throws ServiceException If the inventory task executor is saturated; the caller is never blocked waiting.
+     */
+    @Override
+    public CompletableFuture<List<InventoryResponse>> getAllInventory() {
+        CompletableFuture<List<InventoryResponse>> result = new CompletableFuture<>();
+        try {
+            inventoryTaskExecutor.execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(transactionTemplate.execute(status -> readAllInventory(result)));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            throw new ServiceException(ErrorCode.SERVICE_BUSY, e);
+        }
+        return result;
+    }
 
-        if (existingItem.isPresent()) {
-            Item item = existingItem.get();
-            if (price != null && !Objects.equals(item.getPrice(), price)) {
-                item.setPrice(price);
-                return itemRepository.save(item);
-            }
-            return item;
-        } else {
-            Item newItem = new Item();
-            newItem.setBrand(brand);
-            newItem.setCategory(category);
-            newItem.setPrice(price);
-            return itemRepository.save(newItem);
+    private List<InventoryResponse> readAllInventory(CompletableFuture<?> request) {
+        List<InventoryResponse> responses = new ArrayList<>();
+        try (Stream<InventoryResponse> inventory = inventoryRepository.streamInventoryResponses()) {
+            inventory.forEach(item -> {
+                if (request.isDone()) {
+                    throw new CancellationException("Inventory listing cancelled after " + responses.size() + " rows");
+                }
+                responses.add(item);
+            });
         }
+        return responses;
     }
 
-    private InventoryResponse updateInventory(Item item, Integer quantityChange, boolean isAddition) {
-        Inventory inventory = inventoryRepository.findByItem(item).orElseGet(() -> {
-            Inventory newInventory = new Inventory();
-            newInventory.setItem(item);
-            newInventory.setQuantity(0);
-            newInventory.setStatus(InventoryStatus.OUT_OF_STOCK);
-            return newInventory;
-        });
+    /**
+     * Hands every inventory item to the consumer as it is read from the database, so the catalog is never held in
+     * memory as a whole. Rows are projected into InventoryResponse objects and never become managed entities.
+     *
+     * @param consumer Receives the inventory responses in id order.
+     */
+    @Override
+    @Transactional
+    public void streamAllInventory(Consumer<InventoryResponse> consumer) {
+        try (Stream<InventoryResponse> inventory = inventoryRepository.streamInventoryResponses()) {
+            inventory.forEach(consumer);
+        }
+    }
 
-        int currentQuantity = inventory.getQuantity();
-        int newQuantity;
+    /**
+     * Lists the inventory rows changed since the given token, oldest first, with the token to continue from. Without a
+     * token the feed starts from the beginning, so a client's first call pages through the whole inventory.
+     * <p>
+     * A row's modification time is taken before its transaction commits, so a slow transaction could commit a time
+     * older than one a client has already read past. Changes younger than {@code inventory.changes.settle-window}
+     * are therefore held back until the next call; the window must outlast the longest inventory write.
+     *
+     * @param since The token returned by the previous call, or null for a full sync.
+     * @param limit The maximum number of changes to return.
+     * @return The changes, the next token and whether more changes are already waiting.
+     * @throws ServiceException If the token is invalid or the limit is out of range.
+     */
+    @Override
+    public InventoryChangesResponse getInventoryChanges(String since, int limit) {
+        if (limit < 1 || limit > Constants.MAX_CHANGES_LIMIT) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST,
+                    "Limit must be between 1 and " + Constants.MAX_CHANGES_LIMIT);
+        }
+        ChangeToken token = StringUtils.hasText(since) ? ChangeToken.decode(since) : ChangeToken.START;
+        LocalDateTime until = LocalDateTime.now().minus(changesSettleWindow);
 
-        if (isAddition) {
-            if (quantityChange <= 0) {
-                throw new ServiceException(ErrorCode.INVALID_REQUEST, "Quantity to add must be greater than zero");
-            }
-            newQuantity = currentQuantity + quantityChange;
-        } else {
-            if (quantityChange <= 0) {
-                throw new ServiceException(ErrorCode.INVALID_REQUEST, "Quantity to remove must be greater than zero");
-            }
-            if (currentQuantity < quantityChange) {
-                throw new ServiceException(ErrorCode.INSUFFICIENT_INVENTORY,
-                        "Not enough inventory. Current: " + currentQuantity + ", Requested: " + quantityChange);
+        List<InventoryChangeRow> rows = inventoryRepository.findChangesAfter(token.updatedAt(), token.id(), until,
+                Limit.of(limit + 1));
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        ChangeToken next = rows.isEmpty() ? token : ChangeToken.of(rows.get(rows.size() - 1));
+        return InventoryChangesResponse.builder()
+                .changes(rows.stream().map(InventoryChangeRow::toInventoryChange).toList())
+                .nextToken(next.encode()).hasMore(hasMore).build();
+    }
+
+    /**
+     * Runs the write in a transaction, retrying it when it loses a race to insert the same item or inventory row. The
+     * retry finds the winner's row through its unique key and updates it. When the write joins a caller's transaction
+     * the failure is rethrown instead, since that transaction is already marked for rollback.
+     */
+    private <T> T inTransaction(TransactionCallback<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(write);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw e;
+                }
+                log.debug("Retrying inventory write after a duplicate key: {}", e.getMessage());
             }
-            newQuantity = currentQuantity - quantityChange;
         }
+    }
 
-        inventory.setQuantity(newQuantity);
-        inventory.updateStatus();
-        Inventory savedInventory = inventoryRepository.save(inventory);
+    private void validateRequest(InventoryRequest request) {
+        if (request == null || !StringUtils.hasText(request.getBrand()) || !StringUtils.hasText(request.getCategory())) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Brand and category are required");
+        }
+        if (request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Quantity to add must be greater than zero");
+        }
+    }
 
-        return mapToInventoryResponse(savedInventory);
+    private static InventoryRequest copyOf(InventoryRequest request) {
+        return InventoryRequest.builder().brand(request.getBrand()).category(request.getCategory())
+                .price(request.getPrice()).quantity(request.getQuantity()).build();
     }
 
-    private InventoryResponse mapToInventoryResponse(Inventory inventory) {
-        return InventoryResponse.builder().brand(inventory.getItem().getBrand().getName())
-                .category(inventory.getItem().getCategory().getName()).quantity(inventory.getQuantity())
-                .status(inventory.getStatus()).build();
+    private record ItemKey(String brand, String category) {
+
+        static ItemKey of(Item item) {
+            return new ItemKey(item.getBrand().getName(), item.getCategory().getName());
+        }
     }
-}
\ No newline at end of file
+}
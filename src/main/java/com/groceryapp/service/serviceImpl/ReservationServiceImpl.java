@@ -0,0 +1,321 @@
+package com.groceryapp.service.serviceImpl;
+
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.constant.inventory.ReservationStatus;
+import com.groceryapp.dto.request.reservation.ReservationRequest;
+import com.groceryapp.dto.response.reservation.ReservationResponse;
+import com.groceryapp.exception.ServiceException;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+import com.groceryapp.repository.InventoryRepository;
+import com.groceryapp.repository.ItemRepository;
+import com.groceryapp.service.ReservationService;
+import com.groceryapp.service.inventory.InventoryChangeFeed;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.reservation.StockCounter;
+import com.groceryapp.service.search.InventorySearchIndex;
+import com.groceryapp.utils.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock reservations for checkout traffic. Each SKU that has been reserved gets a lock-free {@link StockCounter}
+ * seeded from its inventory row; from then on the counter is authoritative for this process and reservations never
+ * touch the database on the request path. Net changes are written back to the inventory table by a background flush,
+ * and unconfirmed reservations are expired through a {@link TimerWheel} driven by the same background thread.
+ */
+@Service
+@Slf4j
+public class ReservationServiceImpl implements ReservationService {
+
+    private static final int WHEEL_SIZE = 1024;
+
+    private final InventoryRepository inventoryRepository;
+    private final ItemRepository itemRepository;
+    private final InventorySearchIndex searchIndex;
+    private final InventoryVersions inventoryVersions;
+    private final InventoryChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration tick;
+    private final Duration flushInterval;
+
+    private final Map<SkuKey, StockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<SkuKey, PendingLoad> loads = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final TimerWheel<Reservation> expiries;
+    private ScheduledExecutorService scheduler;
+
+    public ReservationServiceImpl(InventoryRepository inventoryRepository, ItemRepository itemRepository,
+            InventorySearchIndex searchIndex, InventoryVersions inventoryVersions, InventoryChangeFeed changeFeed,
+            PlatformTransactionManager transactionManager,
+            @Value("${reservation.ttl:PT10M}") Duration ttl, @Value("${reservation.tick:PT0.1S}") Duration tick,
+            @Value("${reservation.flush-interval:PT0.2S}") Duration flushInterval) {
+        this.inventoryRepository = inventoryRepository;
+        this.itemRepository = itemRepository;
+        this.searchIndex = searchIndex;
+        this.inventoryVersions = inventoryVersions;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.tick = tick;
+        this.flushInterval = flushInterval;
+        this.expiries = new TimerWheel<>(tick, WHEEL_SIZE, System.nanoTime());
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> tick(System.nanoTime()), tick.toNanos(), tick.toNanos(),
+                TimeUnit.NANOSECONDS);
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval.toNanos(), flushInterval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+
+    /**
+     * Takes the requested quantity off the SKU's available stock and holds it until the reservation is confirmed,
+     * released, or expires.
+     *
+     * @param request The brand, category and quantity to reserve.
+     * @return The reservation, including its id and expiry.
+     * @throws ServiceException If the request is invalid, the item has no inventory, or not enough stock is left.
+     */
+    @Override
+    public ReservationResponse reserve(ReservationRequest request) {
+        if (!StringUtils.hasText(request.getBrand()) || !StringUtils.hasText(request.getCategory())) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Brand and category are required");
+        }
+        if (request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, "Quantity to reserve must be greater than zero");
+        }
+
+        SkuKey key = new SkuKey(request.getBrand().trim(), request.getCategory().trim());
+        StockCounter counter = counters.get(key);
+        if (counter == null) {
+            counter = loadCounter(key);
+        }
+        if (!counter.tryReserve(request.getQuantity())) {
+            throw new ServiceException(ErrorCode.INSUFFICIENT_INVENTORY, "Not enough inventory. Available: "
+                    + counter.available() + ", Requested: " + request.getQuantity());
+        }
+
+        long deadline = System.nanoTime() + ttl.toNanos();
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), key, counter, request.getQuantity(),
+                Instant.now().plus(ttl));
+        reservations.put(reservation.id(), reservation);
+        expiries.schedule(reservation, deadline);
+        return toResponse(reservation, ReservationStatus.RESERVED);
+    }
+
+    /**
+     * Makes a reservation final. The stock stays taken and the reservation can no longer expire.
+     */
+    @Override
+    public ReservationResponse confirm(String reservationId) {
+        return toResponse(settle(reservationId), ReservationStatus.CONFIRMED);
+    }
+
+    /**
+     * Cancels a reservation and returns its stock.
+     */
+    @Override
+    public ReservationResponse release(String reservationId) {
+        Reservation reservation = settle(reservationId);
+        reservation.counter().release(reservation.quantity());
+        return toResponse(reservation, ReservationStatus.RELEASED);
+    }
+
+    /**
+     * Adds stock that was restocked directly in the inventory table to the SKU's counter, if it has one. Restocks are
+     * reported after they commit, so the counter may already have been seeded from a row that includes this one; the
+     * stock version the restock wrote tells the two cases apart. A restock reported while the counter is still being
+     * seeded is handed to the load, which applies it once the counter exists.
+     */
+    @Override
+    public void restocked(String brand, String category, int quantity, long stockVersion) {
+        SkuKey key = new SkuKey(brand, category);
+        if (restock(key, quantity, stockVersion)) {
+            return;
+        }
+        PendingLoad load = loads.get(key);
+        if (load != null) {
+            synchronized (load) {
+                if (!load.done) {
+                    load.restocks.add(new Restock(quantity, stockVersion));
+                    return;
+                }
+            }
+        }
+        // The load finished in between; it publishes the counter before it retires, so it is visible now.
+        restock(key, quantity, stockVersion);
+    }
+
+    void tick(long nowNanos) {
+        expiries.advance(nowNanos, reservation -> {
+            if (reservations.remove(reservation.id(), reservation)) {
+                reservation.counter().release(reservation.quantity());
+                log.debug("Reservation {} expired", reservation.id());
+            }
+        });
+    }
+
+    /**
+     * Writes the net reserved and released quantity of every SKU back to its inventory row and publishes the new
+     * stock to the {@link InventoryChangeFeed}. A failed write is put back and retried on the next flush; once the
+     * write has committed the change is never put back, so a failing notification cannot apply it twice.
+     */
+    void flush() {
+        counters.forEach((key, counter) -> {
+            long delta = counter.drainUnflushed();
+            if (delta == 0) {
+                return;
+            }
+            Optional<Inventory> flushed;
+            try {
+                flushed = transactionTemplate.execute(status -> {
+                    Item item = itemRepository.getReferenceById(counter.itemId());
+                    write(item, Math.toIntExact(delta));
+                    Optional<Inventory> inventory = inventoryRepository.findByItem(item);
+                    inventory.ifPresent(searchIndex::update);
+                    return inventory;
+                });
+            } catch (RuntimeException e) {
+                counter.restoreUnflushed(delta);
+                log.warn("Failed to flush reserved stock for item {}: {}", counter.itemId(), e.getMessage());
+                return;
+            }
+            try {
+                inventoryVersions.bump(key.brand(), key.category());
+                flushed.ifPresent(inventory -> changeFeed.publish(key.brand(), key.category(),
+                        inventory.getQuantity() - Math.toIntExact(delta), inventory.getQuantity()));
+            } catch (RuntimeException e) {
+                log.warn("Flushed reserved stock for item {} but failed to publish it: {}", counter.itemId(),
+                        e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Adds released stock with the atomic increment and takes reserved stock with the guarded decrement, which never
+     * lets the row go below zero. A decrement the row cannot cover means the table no longer holds the stock the
+     * counter was seeded with; it fails the write, so the change is put back and retried rather than lost.
+     */
+    private void write(Item item, int delta) {
+        LocalDateTime now = LocalDateTime.now();
+        if (delta > 0) {
+            inventoryRepository.incrementQuantity(item, delta, now);
+        } else if (inventoryRepository.decrementQuantity(item, -delta, now) == 0) {
+            throw new ServiceException(ErrorCode.INSUFFICIENT_INVENTORY,
+                    "Inventory of item " + item.getId() + " cannot cover " + -delta + " reserved units");
+        }
+    }
+
+    /**
+     * Applies a restock to the SKU's counter, if it has one.
+     *
+     * @return whether the SKU has a counter.
+     */
+    private boolean restock(SkuKey key, int quantity, long stockVersion) {
+        return counters.computeIfPresent(key, (sku, counter) -> {
+            if (!counter.restock(quantity, stockVersion)) {
+                log.debug("Restock of {} {} at version {} was already counted", sku.brand(), sku.category(),
+                        stockVersion);
+            }
+            return counter;
+        }) != null;
+    }
+
+    /**
+     * Seeds the SKU's counter from its inventory row. The row is read outside the counter map, so a slow query never
+     * holds up other SKUs or the flush. Restocks reported while it runs are collected by the {@link PendingLoad} and
+     * applied before the counter is published; those the row already included are skipped by their stock version. If
+     * another request seeded the counter first, that counter is returned instead.
+     */
+    private StockCounter loadCounter(SkuKey key) {
+        PendingLoad load = loads.computeIfAbsent(key, sku -> new PendingLoad());
+        Inventory inventory;
+        try {
+            inventory = inventoryRepository.findByItemBrandNameAndItemCategoryName(key.brand(), key.category())
+                    .orElseThrow(() -> new ServiceException(ErrorCode.INVENTORY_ITEM_NOT_FOUND,
+                            "No inventory for " + key.brand() + " " + key.category()));
+        } catch (RuntimeException e) {
+            loads.remove(key, load);
+            throw e;
+        }
+        StockCounter loaded = new StockCounter(inventory.getItem().getId(), inventory.getQuantity(),
+                inventory.getStockVersion());
+        synchronized (load) {
+            StockCounter counter = counters.get(key);
+            if (counter == null) {
+                load.restocks.forEach(restock -> loaded.restock(restock.quantity(), restock.stockVersion()));
+                counters.put(key, loaded);
+                counter = loaded;
+            }
+            load.done = true;
+            loads.remove(key, load);
+            return counter;
+        }
+    }
+
+    private Reservation settle(String reservationId) {
+        Reservation reservation = reservationId != null ? reservations.remove(reservationId) : null;
+        if (reservation == null) {
+            throw new ServiceException(ErrorCode.RESERVATION_NOT_FOUND,
+                    "Reservation " + reservationId + " does not exist or has already been settled");
+        }
+        return reservation;
+    }
+
+    private static ReservationResponse toResponse(Reservation reservation, ReservationStatus status) {
+        return ReservationResponse.builder().reservationId(reservation.id()).brand(reservation.sku().brand())
+                .category(reservation.sku().category()).quantity(reservation.quantity()).status(status)
+                .expiresAt(status == ReservationStatus.RESERVED ? reservation.expiresAt() : null).build();
+    }
+
+    private record SkuKey(String brand, String category) {
+    }
+
+    private record Restock(int quantity, long stockVersion) {
+    }
+
+    /**
+     * Restocks reported while a SKU's counter is being seeded. Guarded by its own monitor.
+     */
+    private static final class PendingLoad {
+        private final List<Restock> restocks = new ArrayList<>();
+        private boolean done;
+    }
+
+    private record Reservation(String id, SkuKey sku, StockCounter counter, int quantity, Instant expiresAt) {
+    }
+}
@@ -2,22 +2,37 @@ package com.groceryapp.service.serviceImpl;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.constant.search.SearchEngine;
+import com.groceryapp.constant.search.SearchPhase;
 import com.groceryapp.exception.ServiceException;
+import com.groceryapp.repository.specification.InventorySpecifications;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.search.InventorySearchIndex;
+import com.groceryapp.service.search.SearchCursor;
+import com.groceryapp.service.search.SearchKey;
+import com.groceryapp.service.search.SearchMetrics;
+import com.groceryapp.service.search.SearchQuery;
+import com.groceryapp.service.search.SearchResultCache;
+import com.groceryapp.utils.SingleFlight;
+import com.groceryapp.utils.TopKSelector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
-import com.groceryapp.constant.common.Constants;
 import com.groceryapp.dto.response.common.PaginatedResponse;
 import com.groceryapp.dto.response.search.SearchResultItem;
 import com.groceryapp.model.Inventory;
 import com.groceryapp.repository.InventoryRepository;
+import com.groceryapp.repository.projection.InventorySearchRow;
 import com.groceryapp.service.SearchService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,107 +44,212 @@ import lombok.extern.slf4j.Slf4j;
 public class SearchServiceImpl implements SearchService {
 
     private final InventoryRepository inventoryRepository;
+    private final InventorySearchIndex searchIndex;
+    private final SearchResultCache searchCache;
+    private final InventoryVersions inventoryVersions;
+    private final SearchMetrics searchMetrics;
+    private final SingleFlight<Flight, PaginatedResponse<SearchResultItem>> inFlight = new SingleFlight<>();
+
+    @Value("${search.engine:database}")
+    private SearchEngine engine = SearchEngine.DATABASE;
 
     /**
-     * Searches for items in the inventory based on provided filters (brands, categories, price range) and applies pagination.
+     * Searches for items in the inventory matching a compiled {@link SearchQuery} and applies pagination, in the
+     * plan's sort order; the pageable's sort is ignored. Depending on the configured {@link SearchEngine} the work is
+     * pushed down to the database or done in memory.
+     * When a cursor from a previous page is given, the page starts right after it (keyset pagination) and the page
+     * number is ignored. Pages are served from the {@link SearchResultCache} while the inventory they cover is
+     * unchanged. Identical searches that miss the cache at the same time share a single execution, as long as no
+     * inventory write they could see happened in between. Each phase is timed and the rows it touched are counted in
+     * {@link SearchMetrics}.
      *
-     * @param brands    List of brand names to filter by.
-     * @param categories List of category names to filter by.
-     * @param minPrice  Minimum price to filter items.
-     * @param maxPrice  Maximum price to filter items.
-     * @param pageable  Pageable object that specifies pagination details (page number, page size, sorting).
+     * @param query     Compiled filters and sort order.
+     * @param pageable  Pageable object that specifies the page number and page size.
+     * @param cursor    Opaque cursor returned as {@code nextCursor} by the previous page, or null for offset paging.
      * @return Paginated response containing the search results.
      * @throws ServiceException if no items are found in the inventory or no items match the search criteria.
      */
     @Override
-    public PaginatedResponse<SearchResultItem> searchItems(List<String> brands, List<String> categories,
-            Double minPrice, Double maxPrice, Pageable pageable) {
-        List<Inventory> allInventory = inventoryRepository.findAll();
+    public PaginatedResponse<SearchResultItem> searchItems(SearchQuery query, Pageable pageable, String cursor) {
+        SearchKey key = SearchKey.of(query.brands(), query.categories(), query.minPrice(), query.maxPrice(),
+                query.order(), pageable, cursor);
+        return searchMetrics.time(SearchPhase.TOTAL, query.shape(), () -> searchCache.get(key, () -> inFlight.execute(
+                new Flight(key, inventoryVersions.stamp(key.brands(), key.categories())),
+                () -> search(query, pageable, cursor))));
+    }
 
-        if (allInventory.isEmpty()) {
+    /**
+     * Executed versus coalesced search counts.
+     */
+    public Map<String, Number> coalescingStats() {
+        return inFlight.stats();
+    }
+
+    private PaginatedResponse<SearchResultItem> search(SearchQuery query, Pageable pageable, String cursor) {
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor).requireOrder(query.order()) : null;
+        if (engine == SearchEngine.SCAN) {
+            return scanInventory(query, pageable, after);
+        }
+        if (engine == SearchEngine.INDEX) {
+            return searchFromIndex(query, pageable, after);
+        }
+        return queryInventory(query, pageable, after);
+    }
+
+    /**
+     * Answers the search from the resident {@link InventorySearchIndex} without a database round trip.
+     */
+    private PaginatedResponse<SearchResultItem> searchFromIndex(SearchQuery query, Pageable pageable,
+            SearchCursor after) {
+        SearchMetrics.Shape shape = query.shape();
+        if (after == null && searchIndex.size() == 0) {
             throw new ServiceException(ErrorCode.INVENTORY_ITEM_NOT_FOUND, "No items found in the inventory");
         }
 
-        List<Inventory> filteredInventory = applyFilters(allInventory, brands, categories, minPrice, maxPrice);
+        InventorySearchIndex.IndexPage page = searchMetrics.time(SearchPhase.INDEX, shape,
+                () -> searchIndex.search(query.brands(), query.categories(), query.minPrice(), query.maxPrice(),
+                        query.order(), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), after));
+        searchMetrics.rows(shape, page.scanned(), page.total(), page.content().size());
 
-        if (filteredInventory.isEmpty()) {
+        if (after != null) {
+            return PaginatedResponse.ofCursor(page.content(), pageable.getPageSize(), encode(page.nextCursor()));
+        }
+        if (page.total() == 0) {
             throw new ServiceException(ErrorCode.ITEM_NOT_FOUND, "No items found matching the search criteria");
         }
 
-        Sort.Order order = pageable.getSort().isSorted() ? pageable.getSort().toList().get(0) : null;
-        List<Inventory> sortedInventory = applySorting(filteredInventory, order);
+        int totalPages = (int) Math.ceil((double) page.total() / pageable.getPageSize());
+        PaginatedResponse<SearchResultItem> response = PaginatedResponse.of(page.content(), (int) page.total(),
+                totalPages, pageable.getPageNumber(), pageable.getPageSize());
+        response.setNextCursor(encode(page.nextCursor()));
+        return response;
+    }
 
-        List<SearchResultItem> resultItems = sortedInventory.stream()
-                .skip((long) pageable.getPageNumber() * pageable.getPageSize()).limit(pageable.getPageSize())
-                .map(this::mapToSearchResultItem).collect(Collectors.toList());
+    /**
+     * Lets the database filter, sort and page the inventory, so only the requested page is loaded, projected straight
+     * into result rows. The total is taken from a separate count query. Keyset pages seek past the cursor instead and
+     * skip the count.
+     */
+    private PaginatedResponse<SearchResultItem> queryInventory(SearchQuery query, Pageable pageable,
+            SearchCursor after) {
+        SearchMetrics.Shape shape = query.shape();
+        Sort.Order order = query.order();
+        Specification<Inventory> specification = InventorySpecifications
+                .withFilters(query.brands(), query.categories(), query.minPrice(), query.maxPrice())
+                .and(InventorySpecifications.orderedBy(order));
+
+        if (after != null) {
+            int pageSize = pageable.getPageSize();
+            List<InventorySearchRow> rows = searchMetrics.time(SearchPhase.QUERY, shape,
+                    () -> inventoryRepository.findSearchRows(
+                            specification.and(InventorySpecifications.after(order, after.key(), after.id())),
+                            pageSize + 1));
+            List<InventorySearchRow> content = rows.subList(0, Math.min(pageSize, rows.size()));
+            String nextCursor = rows.size() > pageSize ? SearchCursor.of(order, content.get(pageSize - 1)).encode()
+                    : null;
+            searchMetrics.rows(shape, -1, -1, content.size());
+            return PaginatedResponse.ofCursor(searchMetrics.time(SearchPhase.PAGE, shape,
+                    () -> content.stream().map(InventorySearchRow::toSearchResultItem).collect(Collectors.toList())),
+                    pageSize, nextCursor);
+        }
 
-        int totalItems = filteredInventory.size();
-        int totalPages = (int) Math.ceil((double) totalItems / pageable.getPageSize());
+        Page<InventorySearchRow> page = searchMetrics.time(SearchPhase.QUERY, shape,
+                () -> inventoryRepository.findSearchRows(specification,
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())));
+        searchMetrics.rows(shape, -1, page.getTotalElements(), page.getNumberOfElements());
 
-        return PaginatedResponse.of(resultItems, totalItems, totalPages, pageable.getPageNumber(),
-                pageable.getPageSize());
-    }
+        if (page.getTotalElements() == 0) {
+            if (inventoryRepository.count() == 0) {
+                throw new ServiceException(ErrorCode.INVENTORY_ITEM_NOT_FOUND, "No items found in the inventory");
+            }
+            throw new ServiceException(ErrorCode.ITEM_NOT_FOUND, "No items found matching the search criteria");
+        }
 
-    private List<Inventory> applyFilters(List<Inventory> inventory, List<String> brands, List<String> categories,
-            Double minPrice, Double maxPrice) {
-        Predicate<Inventory> combinedFilter = item -> true;
+        List<SearchResultItem> resultItems = searchMetrics.time(SearchPhase.PAGE, shape, () -> page.getContent()
+                .stream().map(InventorySearchRow::toSearchResultItem).collect(Collectors.toList()));
 
-        if (!CollectionUtils.isEmpty(brands)) {
-            combinedFilter = combinedFilter.and(item -> brands.contains(item.getItem().getBrand().getName()));
+        PaginatedResponse<SearchResultItem> response = PaginatedResponse.of(resultItems, (int) page.getTotalElements(),
+                page.getTotalPages(), pageable.getPageNumber(), pageable.getPageSize());
+        if (page.hasNext()) {
+            response.setNextCursor(SearchCursor.of(order, page.getContent().get(page.getNumberOfElements() - 1)).encode());
         }
-        if (!CollectionUtils.isEmpty(categories)) {
-            combinedFilter = combinedFilter.and(item -> categories.contains(item.getItem().getCategory().getName()));
+        return response;
+    }
+
+    private static String encode(SearchCursor cursor) {
+        return cursor != null ? cursor.encode() : null;
+    }
+
+    private PaginatedResponse<SearchResultItem> scanInventory(SearchQuery query, Pageable pageable,
+            SearchCursor after) {
+        SearchMetrics.Shape shape = query.shape();
+        List<Inventory> allInventory = searchMetrics.time(SearchPhase.LOAD, shape, inventoryRepository::findAll);
+
+        if (after == null && allInventory.isEmpty()) {
+            throw new ServiceException(ErrorCode.INVENTORY_ITEM_NOT_FOUND, "No items found in the inventory");
         }
-        if (minPrice != null) {
-            combinedFilter = combinedFilter.and(item -> {
-                Double price = item.getItem().getPrice();
-                return price != null && price >= minPrice;
+
+        List<Inventory> filteredInventory = searchMetrics.time(SearchPhase.FILTER, shape,
+                () -> applyFilters(allInventory, query.filter()));
+
+        if (after != null) {
+            Sort.Order order = query.order();
+            List<Inventory> rows = searchMetrics.time(SearchPhase.SORT, shape, () -> {
+                List<Inventory> remaining = filteredInventory.stream()
+                        .filter(inv -> after.isBefore(SearchCursor.of(order, inv).key(), inv.getId()))
+                        .collect(Collectors.toList());
+                return TopKSelector.select(remaining, pageable.getPageSize() + 1,
+                        query.comparator().thenComparing(Inventory::getId));
             });
+            List<Inventory> content = rows.subList(0, Math.min(pageable.getPageSize(), rows.size()));
+            String nextCursor = rows.size() > pageable.getPageSize()
+                    ? SearchCursor.of(order, content.get(content.size() - 1)).encode() : null;
+            searchMetrics.rows(shape, allInventory.size(), filteredInventory.size(), content.size());
+            return PaginatedResponse.ofCursor(searchMetrics.time(SearchPhase.PAGE, shape,
+                    () -> content.stream().map(this::mapToSearchResultItem).collect(Collectors.toList())),
+                    pageable.getPageSize(), nextCursor);
         }
-        if (maxPrice != null) {
-            combinedFilter = combinedFilter.and(item -> {
-                Double price = item.getItem().getPrice();
-                return price != null && price <= maxPrice;
-            });
+
+        if (filteredInventory.isEmpty()) {
+            searchMetrics.rows(shape, allInventory.size(), 0, 0);
+            throw new ServiceException(ErrorCode.ITEM_NOT_FOUND, "No items found matching the search criteria");
         }
 
-        return inventory.stream().filter(combinedFilter).collect(Collectors.toList());
-    }
+        long offset = (long) pageable.getPageNumber() * pageable.getPageSize();
+        int limit = (int) Math.min(offset + pageable.getPageSize(), filteredInventory.size());
+        List<Inventory> sortedInventory = searchMetrics.time(SearchPhase.SORT, shape,
+                () -> applySorting(filteredInventory, query.comparator(), limit));
 
-    private List<Inventory> applySorting(List<Inventory> inventory, Sort.Order order) {
-        if (order == null) {
-            return inventory.stream()
-                    .sorted((a, b) -> Double.compare(a.getItem().getPrice() != null ? a.getItem().getPrice() : 0,
-                            b.getItem().getPrice() != null ? b.getItem().getPrice() : 0))
-                    .collect(Collectors.toList());
-        }
+        List<SearchResultItem> resultItems = searchMetrics.time(SearchPhase.PAGE, shape,
+                () -> sortedInventory.stream().skip(offset).limit(pageable.getPageSize())
+                        .map(this::mapToSearchResultItem).collect(Collectors.toList()));
+        searchMetrics.rows(shape, allInventory.size(), filteredInventory.size(), resultItems.size());
 
-        Comparator<Inventory> comparator = getInventoryComparator(order);
-        return inventory.stream().sorted(comparator).collect(Collectors.toList());
-    }
+        int totalItems = filteredInventory.size();
+        int totalPages = (int) Math.ceil((double) totalItems / pageable.getPageSize());
 
-    private static Comparator<Inventory> getInventoryComparator(Sort.Order order) {
-        Comparator<Inventory> comparator;
-        boolean isAscending = order.getDirection() == Direction.ASC;
+        return PaginatedResponse.of(resultItems, totalItems, totalPages, pageable.getPageNumber(),
+                pageable.getPageSize());
+    }
 
-        if (Constants.VALID_SORT_FIELDS.contains(order.getProperty())) {
-            if (Constants.QUANTITY.equals(order.getProperty())) {
-                comparator = Comparator.comparingInt(Inventory::getQuantity);
-            } else {
-                comparator = Comparator.comparing(inv -> inv.getItem().getPrice(),
-                        Comparator.nullsLast(Comparator.naturalOrder()));
-            }
-        } else {
-            comparator = Comparator.comparing(inv -> inv.getItem().getPrice(),
-                    Comparator.nullsLast(Comparator.naturalOrder()));
-        }
+    List<Inventory> applyFilters(List<Inventory> inventory, Predicate<Inventory> filter) {
+        return inventory.stream().filter(filter).collect(Collectors.toList());
+    }
 
-        return isAscending ? comparator : comparator.reversed();
+    /**
+     * Returns the first {@code limit} rows in sort order. Early pages use a bounded-heap top-K selection instead of
+     * sorting the whole list; deep pages fall back to a full sort.
+     */
+    List<Inventory> applySorting(List<Inventory> inventory, Comparator<Inventory> comparator, int limit) {
+        return TopKSelector.select(inventory, limit, comparator);
     }
 
-    private SearchResultItem mapToSearchResultItem(Inventory inventory) {
+    SearchResultItem mapToSearchResultItem(Inventory inventory) {
         return SearchResultItem.builder().brand(inventory.getItem().getBrand().getName())
                 .category(inventory.getItem().getCategory().getName()).price(inventory.getItem().getPrice())
                 .quantity(inventory.getQuantity()).build();
     }
-}
\ No newline at end of file
+
+    private record Flight(SearchKey key, long stamp) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.groceryapp.utils;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A thread-per-task executor bounded by permits instead of a pool. At most {@code concurrencyLimit} tasks run at once,
+ * and at most {@code queueCapacity} more wait for a slot, each parked on its own thread, which costs next to nothing
+ * when the threads are virtual. Admission never blocks the submitting thread: a task beyond both bounds is rejected
+ * with {@link TaskRejectedException} at once.
+ * <p>
+ * {@link SimpleAsyncTaskExecutor#setConcurrencyLimit} is not used because its throttle makes the submitting thread
+ * wait for a free slot.
+ */
+public class BoundedTaskExecutor extends SimpleAsyncTaskExecutor {
+
+    private final int capacity;
+    private final Semaphore admitted;
+    private final Semaphore running;
+
+    public BoundedTaskExecutor(String threadNamePrefix, int concurrencyLimit, int queueCapacity) {
+        super(threadNamePrefix);
+        if (concurrencyLimit < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive and queue capacity non-negative");
+        }
+        this.capacity = concurrencyLimit + queueCapacity;
+        this.admitted = new Semaphore(capacity);
+        this.running = new Semaphore(concurrencyLimit);
+    }
+
+    @Override
+    protected void doExecute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            throw new TaskRejectedException("Executor [" + getThreadNamePrefix() + "] already holds " + capacity
+                    + " tasks, did not accept " + task);
+        }
+        try {
+            super.doExecute(() -> {
+                running.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    running.release();
+                    admitted.release();
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.groceryapp.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for large numbers of coarse timeouts. A timeout is dropped into the bucket of its deadline tick
+ * in {@code O(1)}, and a single driver thread calls {@link #advance} to expire whole buckets at a time, instead of one
+ * scheduled task per timeout. Deadlines further away than one revolution simply stay in their bucket for more rounds.
+ * <p>
+ * Timeouts fire up to one tick late and are never cancelled; the consumer is expected to ignore values that were
+ * settled in the meantime. {@link #schedule} may be called from any thread, {@link #advance} from one thread only.
+ */
+public final class TimerWheel<T> {
+
+    private final long startNanos;
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout<T>>[] buckets;
+    private volatile long processedTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(Duration tick, int wheelSize, long startNanos) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.startNanos = startNanos;
+        this.tickNanos = tick.toNanos();
+        this.mask = wheelSize - 1;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Schedules {@code value} to expire once the wheel has advanced past {@code deadlineNanos}, measured on the
+     * {@link System#nanoTime()} scale. Deadlines in the past expire on the next tick.
+     */
+    public void schedule(T value, long deadlineNanos) {
+        long tick = Math.ceilDiv(deadlineNanos - startNanos, tickNanos);
+        // Never target the bucket the driver may be draining right now.
+        tick = Math.max(tick, processedTick + 2);
+        buckets[(int) (tick & mask)].add(new Timeout<>(value, tick));
+    }
+
+    /**
+     * Expires every timeout whose deadline tick is at or before {@code nowNanos}, handing each value to
+     * {@code onExpiry}.
+     */
+    public void advance(long nowNanos, Consumer<T> onExpiry) {
+        long target = (nowNanos - startNanos) / tickNanos;
+        for (long tick = processedTick + 1; tick <= target; tick++) {
+            Queue<Timeout<T>> bucket = buckets[(int) (tick & mask)];
+            List<Timeout<T>> later = new ArrayList<>();
+            Timeout<T> timeout;
+            while ((timeout = bucket.poll()) != null) {
+                if (timeout.tick() <= tick) {
+                    onExpiry.accept(timeout.value());
+                } else {
+                    later.add(timeout);
+                }
+            }
+            bucket.addAll(later);
+            processedTick = tick;
+        }
+    }
+
+    private record Timeout<T>(T value, long tick) {
+    }
+}
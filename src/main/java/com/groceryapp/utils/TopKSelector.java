@@ -0,0 +1,104 @@
+package com.groceryapp.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Selects the first {@code k} elements of a list in comparator order without sorting the whole list. A bounded max-heap
+ * of list positions keeps the best {@code k} candidates seen so far, giving {@code O(n log k)} instead of
+ * {@code O(n log n)}. Equal elements keep their original relative order, exactly like a stable sort.
+ */
+public final class TopKSelector {
+
+    /**
+     * When {@code k} covers at least {@code 1 / FULL_SORT_RATIO} of the input, a full stable sort is cheaper than the
+     * heap.
+     */
+    static final int FULL_SORT_RATIO = 4;
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Returns the first {@code k} elements of {@code items} as {@code items.stream().sorted(comparator).limit(k)}
+     * would, in order.
+     */
+    public static <T> List<T> select(List<T> items, int k, Comparator<? super T> comparator) {
+        int n = items.size();
+        if (k <= 0 || n == 0) {
+            return new ArrayList<>();
+        }
+        if ((long) k * FULL_SORT_RATIO >= n) {
+            List<T> sorted = new ArrayList<>(items);
+            sorted.sort(comparator);
+            return k >= n ? sorted : new ArrayList<>(sorted.subList(0, k));
+        }
+
+        int[] heap = new int[k];
+        int size = 0;
+        for (int position = 0; position < n; position++) {
+            if (size < k) {
+                heap[size] = position;
+                siftUp(heap, size++, items, comparator);
+            } else if (compare(items, comparator, position, heap[0]) < 0) {
+                heap[0] = position;
+                siftDown(heap, 0, size, items, comparator);
+            }
+        }
+
+        for (int end = size - 1; end > 0; end--) {
+            int top = heap[0];
+            heap[0] = heap[end];
+            heap[end] = top;
+            siftDown(heap, 0, end, items, comparator);
+        }
+
+        List<T> selected = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            selected.add(items.get(heap[i]));
+        }
+        return selected;
+    }
+
+    /**
+     * Orders positions by element, then by position, so the heap never has to break a tie arbitrarily.
+     */
+    private static <T> int compare(List<T> items, Comparator<? super T> comparator, int a, int b) {
+        int result = comparator.compare(items.get(a), items.get(b));
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    private static <T> void siftUp(int[] heap, int index, List<T> items, Comparator<? super T> comparator) {
+        int position = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(items, comparator, heap[parent], position) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = position;
+    }
+
+    private static <T> void siftDown(int[] heap, int index, int size, List<T> items,
+            Comparator<? super T> comparator) {
+        int position = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(items, comparator, heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compare(items, comparator, heap[child], position) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = position;
+    }
+}
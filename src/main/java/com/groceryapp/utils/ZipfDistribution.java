@@ -0,0 +1,55 @@
+package com.groceryapp.utils;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over the ranks {@code 0..n-1}: rank {@code r} is drawn with probability proportional to
+ * {@code 1 / (r + 1)^exponent}, so a few ranks at the head take most of the draws and a long tail shares the rest.
+ * Sampling is a binary search over the precomputed cumulative distribution.
+ */
+public final class ZipfDistribution {
+
+    private final double exponent;
+    private final double[] cumulative;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be at least 1");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative");
+        }
+        this.exponent = exponent;
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += weight(rank);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * Unnormalized weight of the rank, {@code 1 / (rank + 1)^exponent}.
+     */
+    public double weight(int rank) {
+        return Math.pow(rank + 1, -exponent);
+    }
+
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
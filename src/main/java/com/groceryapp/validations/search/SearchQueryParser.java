@@ -0,0 +1,152 @@
+package com.groceryapp.validations.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.exception.ServiceException;
+import com.groceryapp.service.search.SearchQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates the parameters of a search request and compiles them into a {@link SearchQuery}. Errors are collected per
+ * call, so concurrent requests never see each other's. Valid plans are cached by their normalized filters and sort,
+ * bounded by {@code search.plan-cache.max-plans}, so a repeated query skips validation and compilation even when its
+ * names are reordered, repeated or padded; page, size and the list lengths are checked on every call.
+ */
+@Component
+public class SearchQueryParser {
+
+    private final Cache<PlanKey, SearchQuery> plans;
+
+    public SearchQueryParser(@Value("${search.plan-cache.max-plans:10000}") long maxPlans) {
+        this.plans = Caffeine.newBuilder().maximumSize(maxPlans).recordStats().build();
+    }
+
+    /**
+     * Returns the plan for the filters and sort.
+     *
+     * @throws ServiceException With {@link ErrorCode#INVALID_REQUEST} and every problem found, comma separated.
+     */
+    public SearchQuery parse(List<String> brands, List<String> categories, Double minPrice, Double maxPrice,
+            String sortBy, String sortDirection, int page, int size) {
+        List<String> errors = new ArrayList<>();
+        validatePagination(page, size, errors);
+        validateListParams(brands, categories, errors);
+        PlanKey key = new PlanKey(SearchQuery.normalize(brands), SearchQuery.normalize(categories), minPrice, maxPrice,
+                normalizeSortField(sortBy), sortDirection != null ? sortDirection.toLowerCase() : "asc");
+        SearchQuery query = plans.getIfPresent(key);
+        if (query == null) {
+            validatePriceRange(minPrice, maxPrice, errors);
+            validateSortField(sortBy, errors);
+            validateSortDirection(sortDirection, errors);
+        }
+        if (!errors.isEmpty()) {
+            throw new ServiceException(ErrorCode.INVALID_REQUEST, String.join(", ", errors));
+        }
+        if (query == null) {
+            query = SearchQuery.of(key.brands(), key.categories(), minPrice, maxPrice,
+                    resolveOrder(sortBy, sortDirection));
+            plans.put(key, query);
+        }
+        return query;
+    }
+
+    /**
+     * Cached plans with plan cache hit and miss counts.
+     */
+    public Map<String, Number> stats() {
+        CacheStats stats = plans.stats();
+        return Map.of("plans", plans.estimatedSize(), "hits", stats.hitCount(), "misses", stats.missCount());
+    }
+
+    private static void validatePriceRange(Double minPrice, Double maxPrice, List<String> errors) {
+        if (minPrice != null && minPrice < Constants.MIN_ALLOWED_PRICE) {
+            errors.add("Minimum price cannot be negative");
+        }
+
+        if (maxPrice != null && maxPrice < Constants.MIN_ALLOWED_PRICE) {
+            errors.add("Maximum price cannot be negative");
+        }
+
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            errors.add("Minimum price cannot be greater than maximum price");
+        }
+    }
+
+    private static void validateSortField(String sortBy, List<String> errors) {
+        if (sortBy != null && !Constants.VALID_SORT_FIELDS.contains(sortBy.toLowerCase())) {
+            errors.add("Invalid sort field." + " Valid fields are: " + Constants.VALID_SORT_FIELDS);
+        }
+    }
+
+    private static void validateSortDirection(String sortDirection, List<String> errors) {
+        if (sortDirection != null && !Constants.VALID_SORT_DIRECTIONS.contains(sortDirection.toLowerCase())) {
+            errors.add("Invalid sort direction. " + " Valid directions are: " + Constants.VALID_SORT_DIRECTIONS);
+        }
+    }
+
+    private static void validatePagination(int page, int size, List<String> errors) {
+        if (page < Constants.MIN_PAGE) {
+            errors.add("Page number cannot be negative");
+        }
+
+        if (size < Constants.MIN_SIZE) {
+            errors.add("Page size must be at least " + Constants.MIN_SIZE);
+        }
+
+        if (size > Constants.MAX_SIZE) {
+            errors.add("Page size cannot exceed " + Constants.MAX_SIZE);
+        }
+    }
+
+    private static void validateListParams(List<String> brands, List<String> categories, List<String> errors) {
+        if (!CollectionUtils.isEmpty(brands)) {
+            validateMaxListSize(brands, "brands", errors);
+        }
+
+        if (!CollectionUtils.isEmpty(categories)) {
+            validateMaxListSize(categories, "categories", errors);
+        }
+    }
+
+    private static void validateMaxListSize(List<?> list, String paramName, List<String> errors) {
+        if (list.size() > Constants.MAX_LIST_SIZE) {
+            errors.add(paramName + " list cannot contain more than " + Constants.MAX_LIST_SIZE + " items");
+        }
+    }
+
+    private static Sort.Order resolveOrder(String sortBy, String sortDirection) {
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return new Sort.Order(direction, normalizeSortField(sortBy));
+    }
+
+    private static String normalizeSortField(String sortBy) {
+        if (sortBy == null) {
+            return Constants.DEFAULT_SORT_FIELD;
+        }
+
+        if ("itemqty".equalsIgnoreCase(sortBy)) {
+            return Constants.QUANTITY;
+        }
+
+        return sortBy.toLowerCase();
+    }
+
+    /**
+     * The filters and sort of a plan after normalization, so requests that compile to the same plan share its entry.
+     * Sort field and direction are only lower-cased and defaulted, so an invalid value never maps onto a valid plan.
+     */
+    private record PlanKey(Set<String> brands, Set<String> categories, Double minPrice, Double maxPrice,
+            String sortField, String sortDirection) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.groceryapp;
+
+import com.groceryapp.constant.common.Constants;
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.dto.response.inventory.InventoryResponse;
+import com.groceryapp.repository.InventoryRepository;
+import com.groceryapp.service.InventoryService;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the inventory listing query on the virtual-thread inventory task executor, as many listings at once as the
+ * executor allows, and fails if any virtual thread blocked while pinned to its carrier (reported by JFR as
+ * {@code jdk.VirtualThreadPinned}), e.g. inside a {@code synchronized} block of the driver or the pool.
+ * <p>
+ * Only reads run, so no listing waits on a row lock, but whether a pinned thread actually parks still depends on
+ * scheduling. The test is tagged {@code slow} and runs with {@code -Pslow-tests}, not in the unit suite.
+ */
+@Tag("slow")
+@SpringBootTest(properties = { "spring.threads.virtual.enabled=true", "inventory.async.concurrency-limit=10" })
+class VirtualThreadPinningTest {
+
+    private static final int LISTINGS = 10;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    @Qualifier(Constants.INVENTORY_TASK_EXECUTOR)
+    private AsyncTaskExecutor inventoryTaskExecutor;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Test
+    void inventoryListingDoesNotPinVirtualThreads() throws Exception {
+        List<InventoryRequest> catalog = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            catalog.add(InventoryRequest.builder().brand("Brand-" + i % 10).category("Category-" + i / 10)
+                    .price(10.0 + i).quantity(100).build());
+        }
+        inventoryService.addInventoryBatch(catalog);
+
+        List<String> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.add(event.getStackTrace() == null ? "?"
+                    : event.getStackTrace().getFrames().stream().map(RecordedFrame::getMethod)
+                            .map(method -> method.getType().getName() + "." + method.getName())
+                            .collect(Collectors.joining("\n  at "))));
+            recording.startAsync();
+
+            for (int round = 0; round < ROUNDS; round++) {
+                List<Future<Integer>> listings = new ArrayList<>();
+                for (int i = 0; i < LISTINGS; i++) {
+                    listings.add(inventoryTaskExecutor.submit(() -> transactionTemplate.execute(status -> {
+                        try (Stream<InventoryResponse> rows = inventoryRepository.streamInventoryResponses()) {
+                            return (int) rows.count();
+                        }
+                    })));
+                }
+                for (Future<Integer> listing : listings) {
+                    assertEquals(100, listing.get());
+                }
+            }
+            recording.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), () -> pinned.size() + " pinned virtual threads, first at\n  at " + pinned.get(0));
+    }
+}
@@ -0,0 +1,44 @@
+package com.groceryapp.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyRecorderTest {
+
+    @Test
+    void testPercentile_IsWithinBucketPrecision() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            recorder.record(micros);
+        }
+
+        assertEquals(100_000, recorder.count());
+        assertEquals(50_000, recorder.percentile(0.5), 50_000 * 0.016);
+        assertEquals(99_000, recorder.percentile(0.99), 99_000 * 0.016);
+        assertEquals(99_900, recorder.percentile(0.999), 99_900 * 0.016);
+        assertEquals(100_000, recorder.percentile(1.0));
+        assertEquals(100_000, recorder.max());
+    }
+
+    @Test
+    void testPercentile_SmallValuesAreExactAndEmptyRecorderReturnsZero() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertEquals(0, recorder.percentile(0.99));
+
+        recorder.record(3);
+        recorder.record(7);
+
+        assertEquals(3, recorder.percentile(0.5));
+        assertEquals(7, recorder.percentile(0.99));
+    }
+
+    @Test
+    void testBuckets_CoverEveryValueContiguously() {
+        for (long value : new long[] { 0, 63, 64, 127, 128, 1_000_003, Long.MAX_VALUE }) {
+            int index = LatencyRecorder.index(value);
+            assertTrue(LatencyRecorder.highestValue(index) >= value, "value " + value);
+            assertTrue(index == 0 || LatencyRecorder.highestValue(index - 1) < value, "value " + value);
+        }
+    }
+}
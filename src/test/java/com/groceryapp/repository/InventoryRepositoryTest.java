@@ -0,0 +1,344 @@
+package com.groceryapp.repository;
+
+import com.groceryapp.config.AppConfig;
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.dto.response.inventory.InventoryResponse;
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+import com.groceryapp.repository.projection.InventoryChangeRow;
+import com.groceryapp.repository.projection.InventorySearchRow;
+import com.groceryapp.repository.specification.InventorySpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(AppConfig.class)
+public class InventoryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        Brand amul = persistBrand("Amul");
+        Brand nestle = persistBrand("Nestle");
+        Category milk = persistCategory("Milk");
+        Category curd = persistCategory("Curd");
+
+        persistInventory(amul, milk, 100.0, 10);
+        persistInventory(amul, curd, 50.0, 5);
+        persistInventory(nestle, milk, 60.0, 5);
+        persistInventory(nestle, curd, 90.0, 10);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindAll_WithFiltersAndPriceOrder_ReturnsFilteredPage() {
+        Specification<Inventory> specification = InventorySpecifications
+                .withFilters(List.of("Amul", "Nestle"), List.of("Milk"), 50.0, 100.0)
+                .and(InventorySpecifications.orderedBy(Sort.Order.desc("price")));
+
+        Page<Inventory> page = inventoryRepository.findAll(specification, PageRequest.of(0, 1));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(1, page.getContent().size());
+        assertEquals("Amul", page.getContent().get(0).getItem().getBrand().getName());
+        assertEquals(100.0, page.getContent().get(0).getItem().getPrice());
+    }
+
+    @Test
+    void testFindAll_QuantityOrder_BreaksTiesById() {
+        Specification<Inventory> specification = InventorySpecifications.withFilters(null, null, null, null)
+                .and(InventorySpecifications.orderedBy(Sort.Order.asc("quantity")));
+
+        Page<Inventory> page = inventoryRepository.findAll(specification, PageRequest.of(1, 2));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of(100.0, 90.0), page.getContent().stream().map(inv -> inv.getItem().getPrice()).toList());
+    }
+
+    @Test
+    void testFindSearchRows_AfterKeyset_ReturnsRowsPastCursor() {
+        Sort.Order order = Sort.Order.desc("price");
+        Specification<Inventory> ordered = InventorySpecifications.withFilters(null, null, null, null)
+                .and(InventorySpecifications.orderedBy(order));
+
+        List<InventorySearchRow> first = inventoryRepository.findSearchRows(ordered, 2);
+        InventorySearchRow last = first.get(1);
+        List<InventorySearchRow> next = inventoryRepository.findSearchRows(
+                ordered.and(InventorySpecifications.after(order, last.price(), last.id())), 10);
+
+        assertEquals(List.of(100.0, 90.0), first.stream().map(InventorySearchRow::price).toList());
+        assertEquals(List.of(60.0, 50.0), next.stream().map(InventorySearchRow::price).toList());
+    }
+
+    @Test
+    void testFindAll_LoadsItemBrandAndCategoryInOneStatement() {
+        Statistics statistics = statistics();
+
+        List<Inventory> inventory = inventoryRepository.findAll();
+        List<String> names = inventory.stream()
+                .map(inv -> inv.getItem().getBrand().getName() + "/" + inv.getItem().getCategory().getName()).toList();
+
+        assertEquals(4, names.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindAll_WithSpecificationPage_LoadsGraphWithSelectAndCount() {
+        Statistics statistics = statistics();
+        Specification<Inventory> specification = InventorySpecifications
+                .withFilters(List.of("Amul", "Nestle"), null, null, null)
+                .and(InventorySpecifications.orderedBy(Sort.Order.asc("price")));
+
+        Page<Inventory> page = inventoryRepository.findAll(specification, PageRequest.of(0, 3));
+        page.getContent().forEach(inv -> inv.getItem().getBrand().getName());
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindSearchRows_ProjectsColumnsWithoutLoadingEntities() {
+        Statistics statistics = statistics();
+        Specification<Inventory> specification = InventorySpecifications
+                .withFilters(List.of("Amul"), List.of("Milk", "Curd"), null, null)
+                .and(InventorySpecifications.orderedBy(Sort.Order.asc("price")));
+
+        Page<InventorySearchRow> page = inventoryRepository.findSearchRows(specification, PageRequest.of(0, 10));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("Curd", "Milk"), page.getContent().stream().map(InventorySearchRow::category).toList());
+        assertEquals("Amul", page.getContent().get(0).brand());
+        assertEquals(5, page.getContent().get(0).quantity());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindSearchRows_FullPage_CountsTotal() {
+        Statistics statistics = statistics();
+        Specification<Inventory> specification = InventorySpecifications.withFilters(null, null, null, null)
+                .and(InventorySpecifications.orderedBy(Sort.Order.desc("quantity")));
+
+        Page<InventorySearchRow> page = inventoryRepository.findSearchRows(specification, PageRequest.of(0, 2));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of(10, 10), page.getContent().stream().map(InventorySearchRow::quantity).toList());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindAllInventoryResponses_ProjectsResponsesInIdOrder() {
+        Statistics statistics = statistics();
+
+        List<InventoryResponse> responses = inventoryRepository.findAllInventoryResponses();
+
+        assertEquals(List.of("Amul", "Amul", "Nestle", "Nestle"),
+                responses.stream().map(InventoryResponse::getBrand).toList());
+        assertEquals(List.of("Milk", "Curd", "Milk", "Curd"),
+                responses.stream().map(InventoryResponse::getCategory).toList());
+        assertEquals(InventoryStatus.AVAILABLE, responses.get(0).getStatus());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testStreamInventoryResponses_StreamsProjectionInIdOrder() {
+        Statistics statistics = statistics();
+
+        try (Stream<InventoryResponse> responses = inventoryRepository.streamInventoryResponses()) {
+            assertEquals(List.of(10, 5, 5, 10), responses.map(InventoryResponse::getQuantity).toList());
+        }
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testIncrementQuantity_UpdatesQuantityStatusAndTimestampInOneStatement() {
+        Inventory curd = findInventory("Amul", "Curd");
+        long stockVersion = curd.getStockVersion();
+        Statistics statistics = statistics();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 30);
+
+        assertEquals(1, inventoryRepository.incrementQuantity(curd.getItem(), 7, now));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Inventory updated = findInventory("Amul", "Curd");
+        assertEquals(12, updated.getQuantity());
+        assertEquals(stockVersion + 1, updated.getStockVersion());
+        assertEquals(InventoryStatus.AVAILABLE, updated.getStatus());
+        assertEquals(now, updated.getUpdatedAt());
+    }
+
+    @Test
+    void testFindChangesAfter_ReturnsRowsPastKeysetBeforeUntilInModificationOrder() {
+        LocalDateTime first = LocalDateTime.of(2025, 1, 1, 9, 0);
+        LocalDateTime second = first.plusMinutes(1);
+        Inventory amulMilk = findInventory("Amul", "Milk");
+        Inventory amulCurd = findInventory("Amul", "Curd");
+        Inventory nestleMilk = findInventory("Nestle", "Milk");
+        inventoryRepository.incrementQuantity(amulMilk.getItem(), 1, first);
+        inventoryRepository.incrementQuantity(nestleMilk.getItem(), 1, second);
+        inventoryRepository.incrementQuantity(amulCurd.getItem(), 1, second);
+        inventoryRepository.incrementQuantity(findInventory("Nestle", "Curd").getItem(), 1, second.plusMinutes(1));
+
+        List<InventoryChangeRow> changes = inventoryRepository.findChangesAfter(first, amulMilk.getId(),
+                second.plusMinutes(1), Limit.of(10));
+
+        assertEquals(List.of(Math.min(amulCurd.getId(), nestleMilk.getId()),
+                Math.max(amulCurd.getId(), nestleMilk.getId())), changes.stream().map(InventoryChangeRow::id).toList());
+        assertEquals(second, changes.get(0).updatedAt());
+
+        InventoryChangeRow last = inventoryRepository
+                .findChangesAfter(second, changes.get(0).id(), second.plusMinutes(1), Limit.of(10)).get(0);
+        assertEquals(changes.get(1).id(), last.id());
+        assertEquals(6, last.quantity());
+        assertEquals(1, inventoryRepository.findChangesAfter(first, amulMilk.getId(), second.plusMinutes(1),
+                Limit.of(1)).size());
+    }
+
+    @Test
+    void testDecrementQuantity_GuardsAgainstInsufficientStock() {
+        Inventory curd = findInventory("Amul", "Curd");
+
+        assertEquals(0, inventoryRepository.decrementQuantity(curd.getItem(), 6, LocalDateTime.now()));
+        assertEquals(5, findInventory("Amul", "Curd").getQuantity());
+
+        assertEquals(1, inventoryRepository.decrementQuantity(curd.getItem(), 5, LocalDateTime.now()));
+        Inventory emptied = findInventory("Amul", "Curd");
+        assertEquals(0, emptied.getQuantity());
+        assertEquals(InventoryStatus.OUT_OF_STOCK, emptied.getStatus());
+    }
+
+    @Test
+    void testUpsert_NewItem_CreatesItemAndInventoryInTwoStatements() {
+        Brand tata = persistBrand("Tata");
+        Category salt = persistCategory("Salt");
+        entityManager.flush();
+        Statistics statistics = statistics();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 30);
+
+        assertEquals(1, itemRepository.upsert(tata.getId(), salt.getId(), 20.0, now));
+        assertEquals(1, inventoryRepository.upsertQuantity(tata.getId(), salt.getId(), 3, now));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        Inventory created = inventoryRepository.findByItemBrandIdAndItemCategoryId(tata.getId(), salt.getId())
+                .orElseThrow();
+        assertEquals(3, created.getQuantity());
+        assertEquals(InventoryStatus.AVAILABLE, created.getStatus());
+        assertEquals(1, created.getStockVersion());
+        assertEquals(20.0, created.getItem().getPrice());
+        assertEquals(now, created.getCreatedAt());
+
+        persistInventory(tata, persistCategory("Sugar"), 45.0, 1);
+        entityManager.flush();
+        assertEquals(6, inventoryRepository.count());
+    }
+
+    @Test
+    void testUpsert_ExistingItem_IncrementsQuantityAndOnlyUpdatesChangedPrice() {
+        Inventory curd = findInventory("Amul", "Curd");
+        long brandId = curd.getItem().getBrand().getId();
+        long stockVersion = curd.getStockVersion();
+        long categoryId = curd.getItem().getCategory().getId();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 30);
+
+        assertEquals(0, itemRepository.upsert(brandId, categoryId, null, now));
+        assertEquals(0, itemRepository.upsert(brandId, categoryId, 50.0, now));
+        assertEquals(1, inventoryRepository.upsertQuantity(brandId, categoryId, 7, now));
+
+        Inventory updated = inventoryRepository.findByItemBrandIdAndItemCategoryId(brandId, categoryId).orElseThrow();
+        assertEquals(12, updated.getQuantity());
+        assertEquals(stockVersion + 1, updated.getStockVersion());
+        assertEquals(50.0, updated.getItem().getPrice());
+        assertEquals(now, updated.getUpdatedAt());
+
+        assertEquals(1, itemRepository.upsert(brandId, categoryId, 55.0, now));
+        assertEquals(55.0, findInventory("Amul", "Curd").getItem().getPrice());
+        assertEquals(4, inventoryRepository.count());
+    }
+
+    @Test
+    void testUniqueKeys_RejectDuplicateItemForBrandAndCategory() {
+        Inventory milk = findInventory("Amul", "Milk");
+        Item duplicate = new Item();
+        duplicate.setBrand(milk.getItem().getBrand());
+        duplicate.setCategory(milk.getItem().getCategory());
+        duplicate.setPrice(1.0);
+
+        assertThrows(PersistenceException.class, () -> entityManager.persistAndFlush(duplicate));
+    }
+
+    private Inventory findInventory(String brand, String category) {
+        return inventoryRepository.findAll().stream()
+                .filter(inv -> brand.equals(inv.getItem().getBrand().getName())
+                        && category.equals(inv.getItem().getCategory().getName()))
+                .findFirst().orElseThrow();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Brand persistBrand(String name) {
+        Brand brand = new Brand();
+        brand.setName(name);
+        return entityManager.persist(brand);
+    }
+
+    private Category persistCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return entityManager.persist(category);
+    }
+
+    private void persistInventory(Brand brand, Category category, Double price, Integer quantity) {
+        Item item = new Item();
+        item.setBrand(brand);
+        item.setCategory(category);
+        item.setPrice(price);
+        entityManager.persist(item);
+
+        Inventory inventory = new Inventory();
+        inventory.setItem(item);
+        inventory.setQuantity(quantity);
+        inventory.setStatus(InventoryStatus.AVAILABLE);
+        entityManager.persist(inventory);
+    }
+}
@@ -0,0 +1,112 @@
+package com.groceryapp.service.catalog;
+
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.repository.BrandRepository;
+import com.groceryapp.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogCacheTest {
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    void setUp() {
+        catalogCache = new CatalogCache(brandRepository, categoryRepository, transactionManager, 100);
+    }
+
+    @Test
+    void testBrandId_SecondLookup_IsServedFromCache() {
+        when(brandRepository.findByName("Amul")).thenReturn(Optional.of(brand(7L, "Amul")));
+
+        assertEquals(7L, catalogCache.brandId("Amul"));
+        assertEquals(7L, catalogCache.brandId("Amul"));
+
+        verify(brandRepository, times(1)).findByName("Amul");
+        assertEquals(1, catalogCache.stats().get("brands").hitCount());
+        assertEquals(1, catalogCache.stats().get("brands").missCount());
+    }
+
+    @Test
+    void testBrandId_ConcurrentFirstRequests_CreateExactlyOneBrand() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        when(brandRepository.findByName("Nestle")).thenReturn(Optional.empty());
+        when(brandRepository.save(any(Brand.class))).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            Brand saved = invocation.getArgument(0);
+            saved.setId(11L);
+            return saved;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> ids = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                ids.add(executor.submit(() -> {
+                    start.await();
+                    return catalogCache.brandId("Nestle");
+                }));
+            }
+            start.countDown();
+            for (Future<Long> id : ids) {
+                assertEquals(11L, id.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(brandRepository, times(1)).save(any(Brand.class));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void testCategoryId_InsertLosesRaceToOtherWriter_ReadsWinnerBack() {
+        Category winner = new Category();
+        winner.setId(4L);
+        winner.setName("Milk");
+        when(categoryRepository.findByName("Milk")).thenReturn(Optional.empty(), Optional.of(winner));
+        when(categoryRepository.save(any(Category.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_category_name"));
+
+        assertEquals(4L, catalogCache.categoryId("Milk"));
+
+        verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    private static Brand brand(Long id, String name) {
+        Brand brand = new Brand();
+        brand.setId(id);
+        brand.setName(name);
+        return brand;
+    }
+}
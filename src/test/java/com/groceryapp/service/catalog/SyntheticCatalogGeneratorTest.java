@@ -0,0 +1,98 @@
+package com.groceryapp.service.catalog;
+
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticCatalogGeneratorTest {
+
+    @Test
+    void testGenerate_EveryItemIsADistinctBrandAndCategoryWithValidPriceAndQuantity() {
+        SyntheticCatalogGenerator generator = new SyntheticCatalogGenerator(20_000, 0, 200, 1.0, 42);
+        List<Integer> batchSizes = new ArrayList<>();
+        List<InventoryRequest> requests = new ArrayList<>();
+
+        generator.generate(5000, batch -> {
+            batchSizes.add(batch.size());
+            requests.addAll(batch);
+        });
+
+        assertEquals(List.of(5000, 5000, 5000, 5000), batchSizes);
+        Set<String> keys = new HashSet<>();
+        for (InventoryRequest request : requests) {
+            assertTrue(keys.add(request.getBrand() + "|" + request.getCategory()), "duplicate " + request);
+            assertTrue(request.getQuantity() > 0);
+            assertTrue(request.getPrice() >= 0.99);
+            assertEquals(99, Math.round(request.getPrice() * 100) % 100, "charm price " + request.getPrice());
+        }
+    }
+
+    @Test
+    void testGenerate_BrandsAndCategoriesAreSkewed() {
+        SyntheticCatalogGenerator generator = new SyntheticCatalogGenerator(50_000, 0, 500, 1.0, 42);
+        Map<String, Integer> brandSizes = new HashMap<>();
+        Map<String, Integer> categorySizes = new HashMap<>();
+
+        generator.generate(5000, batch -> batch.forEach(request -> {
+            brandSizes.merge(request.getBrand(), 1, Integer::sum);
+            categorySizes.merge(request.getCategory(), 1, Integer::sum);
+        }));
+
+        assertEquals(500, brandSizes.get(SyntheticCatalogGenerator.brandName(0)));
+        int median = brandSizes.values().stream().sorted().toList().get(brandSizes.size() / 2);
+        assertTrue(median * 10 < 500, "median brand size " + median);
+        int popular = categorySizes.get(SyntheticCatalogGenerator.categoryName(0));
+        int unpopular = categorySizes.get(SyntheticCatalogGenerator.categoryName(499));
+        assertTrue(popular > 2 * unpopular, popular + " vs " + unpopular);
+    }
+
+    @Test
+    void testSameSeed_GeneratesSameCatalog() {
+        List<InventoryRequest> first = new ArrayList<>();
+        List<InventoryRequest> second = new ArrayList<>();
+
+        new SyntheticCatalogGenerator(3000, 50, 100, 1.1, 7).generate(1000, first::addAll);
+        new SyntheticCatalogGenerator(3000, 50, 100, 1.1, 7).generate(1000, second::addAll);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testRandomSku_ReturnsExistingItems() {
+        SyntheticCatalogGenerator generator = new SyntheticCatalogGenerator(10_000, 0, 100, 1.0, 42);
+        Set<String> keys = new HashSet<>();
+        generator.generate(5000, batch -> batch.forEach(request -> keys.add(request.getBrand() + "|"
+                + request.getCategory())));
+        SplittableRandom random = new SplittableRandom(1);
+
+        IntStream.range(0, 1000).map(i -> generator.randomSku(random)).forEach(sku -> assertTrue(keys.contains(
+                SyntheticCatalogGenerator.brandName(generator.brandOf(sku)) + "|"
+                        + SyntheticCatalogGenerator.categoryName(generator.categoryOf(sku)))));
+    }
+
+    @Test
+    void testBrandSizes_AreCappedAtCategoriesAndAddUpToSkus() {
+        int[] sizes = SyntheticCatalogGenerator.brandSizes(1000, 20, 100, 1.5);
+
+        assertEquals(1000, IntStream.of(sizes).sum());
+        assertTrue(IntStream.of(sizes).allMatch(size -> size <= 100));
+        for (int brand = 1; brand < sizes.length; brand++) {
+            assertTrue(sizes[brand] <= sizes[brand - 1]);
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsCatalogLargerThanBrandsCanHold() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticCatalogGenerator(1001, 10, 100, 1.0, 42));
+    }
+}
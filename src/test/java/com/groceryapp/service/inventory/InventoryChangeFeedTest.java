@@ -0,0 +1,180 @@
+package com.groceryapp.service.inventory;
+
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.constant.inventory.StockEventType;
+import com.groceryapp.dto.response.inventory.StockEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryChangeFeedTest {
+
+    private static final String RESYNC = "RESYNC";
+
+    @Test
+    void testSubscribe_DeliversMatchingChangesClassifiedByThreshold() {
+        InventoryChangeFeed feed = new InventoryChangeFeed(16, 5, Runnable::run);
+        RecordingSubscriber amul = new RecordingSubscriber();
+        feed.subscribe(StockEventFilter.of(List.of("Amul"), null, null, 3), null, amul);
+
+        feed.publish("Amul", "Milk", 5, 3);
+        feed.publish("Tata", "Salt", 1, 0);
+        feed.publish("Amul", "Milk", 3, 0);
+        feed.publish("Amul", "Milk", 0, 10);
+        feed.publish("Amul", "Milk", 10, 12);
+
+        assertEquals(List.of("LOW_STOCK", "STATUS_CHANGED", "STATUS_CHANGED", "STOCK_CHANGED"), amul.names());
+        StockEvent emptied = amul.events.get(1);
+        assertEquals(3, emptied.getPreviousQuantity());
+        assertEquals(InventoryStatus.OUT_OF_STOCK, emptied.getStatus());
+        assertEquals(4L, feed.stats().get("delivered"));
+    }
+
+    @Test
+    void testSubscribe_TypeFilter_OnlyDeliversAlerts() {
+        InventoryChangeFeed feed = new InventoryChangeFeed(16, 5, Runnable::run);
+        RecordingSubscriber alerts = new RecordingSubscriber();
+        feed.subscribe(StockEventFilter.of(null, List.of("Milk"), List.of(StockEventType.STATUS_CHANGED), 5), null,
+                alerts);
+
+        feed.publish("Amul", "Milk", 8, 4);
+        feed.publish("Amul", "Milk", 4, 0);
+        feed.publish("Amul", "Curd", 4, 0);
+
+        assertEquals(List.of("STATUS_CHANGED"), alerts.names());
+    }
+
+    @Test
+    void testSubscriberFallsBehindBuffer_IsToldToResyncAndContinuesFromNewest() {
+        Queue<Runnable> drains = new ArrayDeque<>();
+        InventoryChangeFeed feed = new InventoryChangeFeed(4, 5, drains::add);
+        RecordingSubscriber slow = new RecordingSubscriber();
+        feed.subscribe(StockEventFilter.of(null, null, null, 5), null, slow);
+        drains.poll().run();
+
+        for (int i = 0; i < 6; i++) {
+            feed.publish("Amul", "Milk", i, i + 1);
+        }
+        drains.poll().run();
+        feed.publish("Amul", "Milk", 6, 7);
+        drains.poll().run();
+
+        assertEquals(List.of(RESYNC, "STOCK_CHANGED"), slow.names());
+        assertEquals(7, slow.events.get(0).getQuantity());
+        assertEquals(1L, feed.stats().get("resyncs"));
+    }
+
+    @Test
+    void testSubscribe_WithLastEventId_ResumesAfterItOrResyncs() {
+        InventoryChangeFeed feed = new InventoryChangeFeed(16, 5, Runnable::run);
+        RecordingSubscriber first = new RecordingSubscriber();
+        InventoryChangeFeed.Subscription subscription = feed.subscribe(StockEventFilter.of(null, null, null, 5), null,
+                first);
+        feed.publish("Amul", "Milk", 0, 1);
+        subscription.cancel();
+        feed.publish("Amul", "Milk", 1, 2);
+        feed.publish("Amul", "Milk", 2, 3);
+
+        RecordingSubscriber resumed = new RecordingSubscriber();
+        feed.subscribe(StockEventFilter.of(null, null, null, 5), first.ids.get(0), resumed);
+        RecordingSubscriber stale = new RecordingSubscriber();
+        feed.subscribe(StockEventFilter.of(null, null, null, 5), "unknown-7", stale);
+
+        assertEquals(List.of(2, 3), resumed.events.stream().map(StockEvent::getQuantity).toList());
+        assertEquals(List.of(RESYNC), stale.names());
+        assertEquals(2, feed.stats().get("subscribers"));
+    }
+
+    @Test
+    void testCloseSubscriptions_EndsEveryStream() {
+        InventoryChangeFeed feed = new InventoryChangeFeed(16, 5, Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        feed.subscribe(StockEventFilter.of(null, null, null, 5), null, subscriber);
+
+        feed.closeSubscriptions();
+        feed.publish("Amul", "Milk", 0, 1);
+
+        assertEquals(List.of("CLOSED"), subscriber.names());
+        assertEquals(0, feed.stats().get("subscribers"));
+    }
+
+    @Test
+    void testPublish_NeverWaitsForBlockedSubscriber() throws Exception {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        InventoryChangeFeed feed = new InventoryChangeFeed(8, 5, executor);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingSubscriber stuck = new RecordingSubscriber() {
+            @Override
+            public void onEvent(String id, StockEvent event) {
+                blocked.countDown();
+                awaitQuietly(unblock);
+                super.onEvent(id, event);
+            }
+        };
+        feed.subscribe(StockEventFilter.of(null, null, null, 5), null, stuck);
+
+        feed.publish("Amul", "Milk", 0, 1);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 100; i++) {
+            feed.publish("Amul", "Milk", i, i + 1);
+        }
+        unblock.countDown();
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(List.of("STATUS_CHANGED", RESYNC), stuck.names());
+        assertEquals(100L, feed.stats().get("published"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingSubscriber implements InventoryChangeFeed.Subscriber {
+
+        final List<String> ids = new CopyOnWriteArrayList<>();
+        final List<String> names = new CopyOnWriteArrayList<>();
+        final List<StockEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvent(String id, StockEvent event) {
+            ids.add(id);
+            names.add(event.getType().name());
+            events.add(event);
+        }
+
+        @Override
+        public void onResync(String id) {
+            ids.add(id);
+            names.add(RESYNC);
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            fail(e);
+        }
+
+        @Override
+        public void onClose() {
+            names.add("CLOSED");
+        }
+
+        List<String> names() {
+            return names;
+        }
+    }
+}
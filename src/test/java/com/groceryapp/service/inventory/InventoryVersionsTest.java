@@ -0,0 +1,41 @@
+package com.groceryapp.service.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryVersionsTest {
+
+    private final InventoryVersions versions = new InventoryVersions();
+
+    @Test
+    void testStamp_ChangesOnlyForWritesMatchingTheFilters() {
+        long amul = versions.stamp(List.of("Amul"), List.of("Milk"));
+        long milk = versions.stamp(null, List.of("Milk"));
+        long all = versions.stamp(null, null);
+
+        versions.bump("Tata", "Salt");
+
+        assertEquals(amul, versions.stamp(List.of("Amul"), List.of("Milk")));
+        assertEquals(milk, versions.stamp(null, List.of("Milk")));
+        assertNotEquals(all, versions.stamp(null, null));
+
+        versions.bump("Nestle", "Milk");
+
+        assertEquals(amul, versions.stamp(List.of("Amul"), List.of("Milk")));
+        assertNotEquals(milk, versions.stamp(null, List.of("Milk")));
+        assertNotEquals(amul, versions.stamp(List.of("Amul", "Nestle"), List.of("Milk")));
+    }
+
+    @Test
+    void testEtag_DiffersPerVersionAndProcess() {
+        InventoryVersions restarted = new InventoryVersions();
+
+        assertNotEquals(versions.etag(0), versions.etag(1));
+        assertEquals(versions.etag(versions.global()), versions.etag(0));
+        assertTrue(versions.etag(3).endsWith("-3"));
+        assertNotNull(restarted.etag(0));
+    }
+}
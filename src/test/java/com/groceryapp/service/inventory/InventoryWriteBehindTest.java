@@ -0,0 +1,120 @@
+package com.groceryapp.service.inventory;
+
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.dto.response.inventory.InventoryResponse;
+import com.groceryapp.exception.ServiceException;
+import com.groceryapp.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryWriteBehindTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind = new InventoryWriteBehind(inventoryService, transactionManager, true, 3, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testFlush_MergesRequestsForSameItemIntoOneDelta() throws Exception {
+        InventoryResponse milk = response("Amul", "Milk", 17);
+        InventoryResponse salt = response("Tata", "Salt", 2);
+        when(inventoryService.addInventory(any())).thenReturn(milk, salt);
+
+        CompletableFuture<InventoryResponse> first = writeBehind.submit(request("Amul", "Milk", 5, 10.0));
+        CompletableFuture<InventoryResponse> second = writeBehind.submit(request("Tata", "Salt", 2, 20.0));
+        CompletableFuture<InventoryResponse> third = writeBehind.submit(request("Amul", "Milk", 7, 12.0));
+
+        assertEquals(3, writeBehind.flush());
+
+        ArgumentCaptor<InventoryRequest> applied = ArgumentCaptor.forClass(InventoryRequest.class);
+        verify(inventoryService, times(2)).addInventory(applied.capture());
+        assertEquals(12, applied.getAllValues().get(0).getQuantity());
+        assertEquals(12.0, applied.getAllValues().get(0).getPrice());
+        assertEquals(2, applied.getAllValues().get(1).getQuantity());
+        verify(transactionManager, times(1)).commit(any());
+        assertSame(milk, first.get());
+        assertSame(salt, second.get());
+        assertSame(milk, third.get());
+        assertEquals(1L, writeBehind.stats().get("transactions"));
+        assertEquals(3L, writeBehind.stats().get("maxBatchSize"));
+    }
+
+    @Test
+    void testFlush_SharedTransactionFails_AppliesRequestsOneByOne() throws Exception {
+        InventoryResponse milk = response("Amul", "Milk", 5);
+        when(inventoryService.addInventory(any()))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenReturn(milk)
+                .thenThrow(new ServiceException(ErrorCode.INVALID_REQUEST, "bad"));
+
+        CompletableFuture<InventoryResponse> good = writeBehind.submit(request("Amul", "Milk", 5, 10.0));
+        CompletableFuture<InventoryResponse> bad = writeBehind.submit(request("Tata", "Salt", 1, 20.0));
+
+        writeBehind.flush();
+
+        assertSame(milk, good.get());
+        ExecutionException failure = assertThrows(ExecutionException.class, bad::get);
+        assertInstanceOf(ServiceException.class, failure.getCause());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void testFlush_InvalidRequest_IsAppliedOnItsOwn() {
+        when(inventoryService.addInventory(any())).thenThrow(
+                new ServiceException(ErrorCode.INVALID_REQUEST, "Quantity to add must be greater than zero"));
+
+        CompletableFuture<InventoryResponse> invalid = writeBehind.submit(request("Amul", "Milk", 0, 10.0));
+        writeBehind.flush();
+
+        assertTrue(invalid.isCompletedExceptionally());
+        verify(inventoryService, times(1)).addInventory(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testFlush_TakesAtMostMaxBatchRequests() {
+        when(inventoryService.addInventory(any())).thenReturn(response("Amul", "Milk", 1));
+        for (int i = 0; i < 4; i++) {
+            writeBehind.submit(request("Amul", "Milk", 1, 10.0));
+        }
+
+        assertEquals(3, writeBehind.flush());
+        assertEquals(1, writeBehind.stats().get("pending"));
+        assertEquals(1, writeBehind.flush());
+        assertEquals(0, writeBehind.flush());
+        assertEquals(2L, writeBehind.stats().get("flushes"));
+    }
+
+    private static InventoryRequest request(String brand, String category, int quantity, Double price) {
+        return InventoryRequest.builder().brand(brand).category(category).quantity(quantity).price(price).build();
+    }
+
+    private static InventoryResponse response(String brand, String category, int quantity) {
+        return InventoryResponse.builder().brand(brand).category(category).quantity(quantity)
+                .status(InventoryStatus.AVAILABLE).build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.groceryapp.service.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StockCounterTest {
+
+    @Test
+    void testTryReserve_ConcurrentCallers_NeverOversell() throws Exception {
+        StockCounter counter = new StockCounter(1L, 1000, 0);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (counter.tryReserve(1)) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(1000, total);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, counter.available());
+        assertEquals(-1000, counter.drainUnflushed());
+    }
+
+    @Test
+    void testReleaseAndRestock_OnlyReleaseIsUnflushed() {
+        StockCounter counter = new StockCounter(1L, 5, 0);
+
+        assertTrue(counter.tryReserve(4));
+        assertFalse(counter.tryReserve(2));
+        counter.release(1);
+        assertTrue(counter.restock(10, 1));
+
+        assertEquals(12, counter.available());
+        assertEquals(-3, counter.drainUnflushed());
+        assertEquals(0, counter.drainUnflushed());
+
+        counter.restoreUnflushed(-3);
+        assertEquals(-3, counter.drainUnflushed());
+    }
+
+    @Test
+    void testRestock_AtOrBelowSeededVersion_IsSkipped() {
+        StockCounter counter = new StockCounter(1L, 5, 7);
+
+        assertFalse(counter.restock(4, 6));
+        assertFalse(counter.restock(4, 7));
+        assertTrue(counter.restock(4, 8));
+
+        assertEquals(9, counter.available());
+    }
+}
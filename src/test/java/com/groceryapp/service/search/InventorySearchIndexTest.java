@@ -0,0 +1,264 @@
+package com.groceryapp.service.search;
+
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.constant.search.SearchEngine;
+import com.groceryapp.dto.response.search.SearchResultItem;
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+import com.groceryapp.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventorySearchIndexTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @InjectMocks
+    private InventorySearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchIndex, "engine", SearchEngine.INDEX);
+
+        searchIndex.update(inventory(1L, "Amul", "Milk", 100.0, 10));
+        searchIndex.update(inventory(2L, "Amul", "Curd", 50.0, 5));
+        searchIndex.update(inventory(3L, "Nestle", "Milk", 60.0, 5));
+        searchIndex.update(inventory(4L, "Nestle", "Curd", 90.0, 10));
+        searchIndex.update(inventory(5L, "Tata", "Salt", null, 50));
+    }
+
+    @Test
+    void testSearch_BrandAndCategoryFilters_IntersectsPostings() {
+        InventorySearchIndex.IndexPage page = searchIndex.search(List.of("Amul", "Nestle"), List.of("Milk"), null, null,
+                Sort.Order.asc("price"), PageRequest.of(0, 10), null);
+
+        assertEquals(2, page.total());
+        assertEquals(List.of(60.0, 100.0), prices(page));
+    }
+
+    @Test
+    void testSearch_PriceRange_ExcludesMissingPrices() {
+        InventorySearchIndex.IndexPage page = searchIndex.search(null, null, 55.0, 100.0, Sort.Order.desc("price"),
+                PageRequest.of(0, 10), null);
+
+        assertEquals(3, page.total());
+        assertEquals(List.of(100.0, 90.0, 60.0), prices(page));
+    }
+
+    @Test
+    void testSearch_NoFilters_SortsMissingPriceLastAndPages() {
+        InventorySearchIndex.IndexPage page = searchIndex.search(null, null, null, null, Sort.Order.asc("price"),
+                PageRequest.of(2, 2), null);
+
+        assertEquals(5, page.total());
+        assertEquals(1, page.content().size());
+        assertNull(page.content().get(0).getPrice());
+        assertEquals("Tata", page.content().get(0).getBrand());
+    }
+
+    @Test
+    void testSearch_QuantitySort_BreaksTiesById() {
+        InventorySearchIndex.IndexPage page = searchIndex.search(null, null, null, null, Sort.Order.desc("quantity"),
+                PageRequest.of(0, 3), null);
+
+        assertEquals(List.of(50, 10, 10), page.content().stream().map(SearchResultItem::getQuantity).toList());
+        assertEquals(List.of("Tata", "Amul", "Nestle"),
+                page.content().stream().map(SearchResultItem::getBrand).toList());
+    }
+
+    @Test
+    void testSearch_QuantitySortWithOffset_KeepsOnlyLeadingRowsButCountsAllMatches() {
+        InventorySearchIndex.IndexPage page = searchIndex.search(List.of("Amul", "Nestle"), null, 0.0, null,
+                Sort.Order.asc("quantity"), PageRequest.of(1, 1), null);
+
+        assertEquals(4, page.total());
+        assertEquals(List.of("Nestle"), page.content().stream().map(SearchResultItem::getBrand).toList());
+        assertEquals(5, page.content().get(0).getQuantity());
+        assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    void testUpdate_ExistingRow_ReplacesValues() {
+        searchIndex.update(restocked(inventory(2L, "Amul", "Curd", 150.0, 0)));
+
+        InventorySearchIndex.IndexPage page = searchIndex.search(List.of("Amul"), null, 120.0, null, Sort.Order.asc("price"),
+                PageRequest.of(0, 10), null);
+
+        assertEquals(5, searchIndex.size());
+        assertEquals(1, page.total());
+        assertEquals(0, page.content().get(0).getQuantity());
+    }
+
+    @Test
+    void testUpdate_OlderStockVersionAppliedLate_IsIgnored() {
+        Inventory newer = restocked(restocked(inventory(2L, "Amul", "Curd", 50.0, 9)));
+        Inventory older = restocked(inventory(2L, "Amul", "Curd", 50.0, 7));
+        searchIndex.update(newer);
+        searchIndex.update(older);
+
+        InventorySearchIndex.IndexPage page = searchIndex.search(List.of("Amul"), List.of("Curd"), null, null,
+                Sort.Order.asc("price"), PageRequest.of(0, 10), null);
+
+        assertEquals(9, page.content().get(0).getQuantity());
+    }
+
+    @Test
+    void testUpdate_PriceChange_RepositionsRowInPriceOrder() {
+        searchIndex.update(restocked(inventory(1L, "Amul", "Milk", 10.0, 10)));
+        searchIndex.update(restocked(inventory(3L, "Nestle", "Milk", 95.0, 5)));
+
+        InventorySearchIndex.IndexPage page = searchIndex.search(null, null, null, 100.0, Sort.Order.asc("price"),
+                PageRequest.of(0, 10), null);
+
+        assertEquals(List.of(10.0, 50.0, 90.0, 95.0), prices(page));
+        assertEquals(List.of("Amul", "Amul", "Nestle", "Nestle"),
+                page.content().stream().map(SearchResultItem::getBrand).toList());
+    }
+
+    @Test
+    void testSearch_PriceDescending_KeepsTiesInIdOrderAndMissingPriceFirst() {
+        searchIndex.update(inventory(6L, "Britannia", "Bread", 90.0, 15));
+
+        InventorySearchIndex.IndexPage page = searchIndex.search(null, null, null, null, Sort.Order.desc("price"),
+                PageRequest.of(0, 3), null);
+
+        assertEquals(6, page.total());
+        assertEquals(List.of("Tata", "Amul", "Nestle"),
+                page.content().stream().map(SearchResultItem::getBrand).toList());
+
+        InventorySearchIndex.IndexPage next = searchIndex.search(null, null, null, null, Sort.Order.desc("price"),
+                PageRequest.of(1, 3), null);
+
+        assertEquals(List.of("Britannia", "Nestle", "Amul"),
+                next.content().stream().map(SearchResultItem::getBrand).toList());
+    }
+
+    @Test
+    void testSearch_FilteredPriceRange_CountsWholeSlice() {
+        InventorySearchIndex.IndexPage page = searchIndex.search(null, List.of("Milk", "Curd"), 50.0, 90.0,
+                Sort.Order.asc("price"), PageRequest.of(0, 1), null);
+
+        assertEquals(3, page.total());
+        assertEquals(List.of(50.0), prices(page));
+    }
+
+    @Test
+    void testBuild_LoadsRepositoryRowsInPriceOrder() {
+        InventorySearchIndex rebuilt = new InventorySearchIndex(inventoryRepository);
+        ReflectionTestUtils.setField(rebuilt, "engine", SearchEngine.INDEX);
+        when(inventoryRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                inventory(1L, "Amul", "Milk", 100.0, 10), inventory(2L, "Amul", "Curd", 50.0, 5),
+                inventory(3L, "Tata", "Salt", null, 50), inventory(4L, "Nestle", "Milk", 60.0, 5)));
+
+        rebuilt.build();
+
+        InventorySearchIndex.IndexPage page = rebuilt.search(null, null, null, null, Sort.Order.asc("price"),
+                PageRequest.of(0, 10), null);
+        assertEquals(4, rebuilt.size());
+        assertEquals(Arrays.asList(50.0, 60.0, 100.0, null), prices(page));
+    }
+
+    @Test
+    void testSearch_UnknownBrand_ReturnsEmptyPage() {
+        InventorySearchIndex.IndexPage page = searchIndex.search(List.of("Unknown"), null, null, null,
+                Sort.Order.asc("price"), PageRequest.of(0, 10), null);
+
+        assertEquals(0, page.total());
+    }
+
+    @Test
+    void testSearch_CursorAscending_WalksAllPagesWithoutGaps() {
+        searchIndex.update(inventory(6L, "Britannia", "Bread", 90.0, 15));
+        Sort.Order order = Sort.Order.asc("price");
+
+        InventorySearchIndex.IndexPage first = searchIndex.search(null, null, null, null, order,
+                PageRequest.of(0, 2), null);
+        InventorySearchIndex.IndexPage second = searchIndex.search(null, null, null, null, order,
+                PageRequest.of(0, 2), first.nextCursor());
+        InventorySearchIndex.IndexPage last = searchIndex.search(null, null, null, null, order,
+                PageRequest.of(0, 2), second.nextCursor());
+
+        assertEquals(List.of(50.0, 60.0), prices(first));
+        assertEquals(List.of("Nestle", "Britannia"), second.content().stream().map(SearchResultItem::getBrand).toList());
+        assertEquals(Arrays.asList(100.0, null), prices(last));
+        assertNull(last.nextCursor());
+        assertEquals(-1, second.total());
+    }
+
+    @Test
+    void testSearch_CursorDescending_ResumesInsideTiedPriceRun() {
+        searchIndex.update(inventory(6L, "Britannia", "Bread", 90.0, 15));
+        Sort.Order order = Sort.Order.desc("price");
+
+        InventorySearchIndex.IndexPage first = searchIndex.search(null, null, null, null, order,
+                PageRequest.of(0, 3), null);
+        InventorySearchIndex.IndexPage next = searchIndex.search(null, null, null, null, order,
+                PageRequest.of(0, 3), first.nextCursor());
+
+        assertEquals(List.of("Tata", "Amul", "Nestle"), first.content().stream().map(SearchResultItem::getBrand).toList());
+        assertEquals(List.of("Britannia", "Nestle", "Amul"),
+                next.content().stream().map(SearchResultItem::getBrand).toList());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void testSearch_CursorByQuantity_AppliesFilters() {
+        Sort.Order order = Sort.Order.asc("quantity");
+
+        InventorySearchIndex.IndexPage first = searchIndex.search(null, List.of("Milk", "Curd"), null, null, order,
+                PageRequest.of(0, 2), null);
+        InventorySearchIndex.IndexPage next = searchIndex.search(null, List.of("Milk", "Curd"), null, null, order,
+                PageRequest.of(0, 2), first.nextCursor());
+
+        assertEquals(List.of(5, 5), first.content().stream().map(SearchResultItem::getQuantity).toList());
+        assertEquals(List.of("Amul", "Nestle"), next.content().stream().map(SearchResultItem::getBrand).toList());
+        assertNull(next.nextCursor());
+    }
+
+    private static List<Double> prices(InventorySearchIndex.IndexPage page) {
+        return page.content().stream().map(SearchResultItem::getPrice).toList();
+    }
+
+    private static Inventory restocked(Inventory inventory) {
+        inventory.setStockVersion(inventory.getStockVersion() + 1);
+        return inventory;
+    }
+
+    private static Inventory inventory(Long id, String brandName, String categoryName, Double price,
+            Integer quantity) {
+        Brand brand = new Brand();
+        brand.setName(brandName);
+        Category category = new Category();
+        category.setName(categoryName);
+
+        Item item = new Item();
+        item.setBrand(brand);
+        item.setCategory(category);
+        item.setPrice(price);
+
+        Inventory inventory = new Inventory();
+        inventory.setId(id);
+        inventory.setItem(item);
+        inventory.setQuantity(quantity);
+        inventory.setStatus(quantity > 0 ? InventoryStatus.AVAILABLE : InventoryStatus.OUT_OF_STOCK);
+        return inventory;
+    }
+}
@@ -0,0 +1,66 @@
+package com.groceryapp.service.search;
+
+import com.groceryapp.model.Brand;
+import com.groceryapp.model.Category;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchQueryTest {
+
+    @Test
+    void testFilter_MatchesAllFilters() {
+        SearchQuery query = SearchQuery.of(List.of("Amul", "Amul"), List.of("Milk"), 20.0, 40.0,
+                Sort.Order.asc("price"));
+
+        assertTrue(query.filter().test(inventory("Amul", "Milk", 30.0, 1)));
+        assertFalse(query.filter().test(inventory("Nestle", "Milk", 30.0, 1)));
+        assertFalse(query.filter().test(inventory("Amul", "Curd", 30.0, 1)));
+        assertFalse(query.filter().test(inventory("Amul", "Milk", 50.0, 1)));
+        assertFalse(query.filter().test(inventory("Amul", "Milk", null, 1)));
+    }
+
+    @Test
+    void testFilter_NoFilters_MatchesEverything() {
+        SearchQuery query = SearchQuery.of(null, List.of(" "), null, null, (Sort.Order) null);
+
+        assertTrue(query.filter().test(inventory("Amul", "Milk", null, 0)));
+        assertEquals(Sort.Order.asc("price"), query.order());
+        assertEquals("none", query.shape().filter());
+    }
+
+    @Test
+    void testComparator_FollowsResolvedOrder_NullPricesLast() {
+        List<Inventory> rows = new ArrayList<>(List.of(inventory("A", "C", null, 3), inventory("A", "C", 10.0, 1),
+                inventory("A", "C", 5.0, 2)));
+
+        rows.sort(SearchQuery.of(null, null, null, null, PageRequest.of(0, 10, Sort.by("price"))).comparator());
+        assertEquals(List.of(5.0, 10.0), rows.stream().limit(2).map(row -> row.getItem().getPrice()).toList());
+        assertNull(rows.get(2).getItem().getPrice());
+
+        rows.sort(SearchQuery.of(null, null, null, null, Sort.Order.desc("quantity")).comparator());
+        assertEquals(List.of(3, 2, 1), rows.stream().map(Inventory::getQuantity).toList());
+    }
+
+    private static Inventory inventory(String brandName, String categoryName, Double price, int quantity) {
+        Brand brand = new Brand();
+        brand.setName(brandName);
+        Category category = new Category();
+        category.setName(categoryName);
+        Item item = new Item();
+        item.setBrand(brand);
+        item.setCategory(category);
+        item.setPrice(price);
+        Inventory inventory = new Inventory();
+        inventory.setItem(item);
+        inventory.setQuantity(quantity);
+        return inventory;
+    }
+}
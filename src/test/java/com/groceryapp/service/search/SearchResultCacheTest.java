@@ -0,0 +1,97 @@
+package com.groceryapp.service.search;
+
+import com.groceryapp.dto.response.common.PaginatedResponse;
+import com.groceryapp.dto.response.search.SearchResultItem;
+import com.groceryapp.service.inventory.InventoryVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchResultCacheTest {
+
+    private InventoryVersions versions;
+    private SearchResultCache cache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        versions = new InventoryVersions();
+        cache = new SearchResultCache(versions, true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(4));
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_FilterOrderDoesNotMatter_ServesCachedPage() {
+        PaginatedResponse<SearchResultItem> first = cache.get(key(List.of("Amul", "Nestle"), List.of("Milk")),
+                search(2));
+        PaginatedResponse<SearchResultItem> second = cache.get(key(List.of("Nestle", "Amul", "Amul"), List.of("Milk")),
+                search(2));
+
+        assertSame(first, second);
+        assertEquals(1, searches.get());
+        assertEquals(0.5, cache.stats().get("hitRatio"));
+        assertEquals(1L, cache.stats().get("entries"));
+    }
+
+    @Test
+    void testGet_WriteToFilteredBrand_InvalidatesOnlyMatchingPages() {
+        cache.get(key(List.of("Amul"), null), search(1));
+        cache.get(key(List.of("Tata"), null), search(1));
+        cache.get(key(null, List.of("Milk")), search(1));
+        cache.get(key(null, null), search(1));
+
+        versions.bump("Amul", "Curd");
+        cache.get(key(List.of("Amul"), null), search(1));
+        cache.get(key(List.of("Tata"), null), search(1));
+        cache.get(key(null, List.of("Milk")), search(1));
+        cache.get(key(null, null), search(1));
+
+        assertEquals(6, searches.get());
+        assertEquals(2L, cache.stats().get("stale"));
+    }
+
+    @Test
+    void testGet_PageLargerThanEntryCap_IsNotCached() {
+        cache.get(key(null, null), search(100));
+        cache.get(key(null, null), search(100));
+
+        assertEquals(2, searches.get());
+        assertEquals(2L, cache.stats().get("oversized"));
+        assertEquals(0L, cache.stats().get("entries"));
+    }
+
+    @Test
+    void testGet_Disabled_AlwaysSearches() {
+        SearchResultCache disabled = new SearchResultCache(versions, false, DataSize.ofMegabytes(1),
+                DataSize.ofKilobytes(4));
+
+        disabled.get(key(null, null), search(1));
+        disabled.get(key(null, null), search(1));
+
+        assertEquals(2, searches.get());
+    }
+
+    private static SearchKey key(List<String> brands, List<String> categories) {
+        return SearchKey.of(brands, categories, null, 100.0, Sort.Order.asc("price"), PageRequest.of(0, 10), null);
+    }
+
+    private Supplier<PaginatedResponse<SearchResultItem>> search(int rows) {
+        return () -> {
+            searches.incrementAndGet();
+            List<SearchResultItem> items = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                items.add(new SearchResultItem("Amul", "Milk", 10.0 + i, i));
+            }
+            return PaginatedResponse.of(items, rows, 1, 0, 10);
+        };
+    }
+}
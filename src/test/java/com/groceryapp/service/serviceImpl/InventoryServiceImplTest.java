@@ -2,6 +2,8 @@ package com.groceryapp.service.serviceImpl;
 import com.groceryapp.constant.common.ErrorCode;
 import com.groceryapp.constant.inventory.InventoryStatus;
 import com.groceryapp.dto.request.inventory.InventoryRequest;
+import com.groceryapp.dto.response.inventory.InventoryBatchResponse;
+import com.groceryapp.dto.response.inventory.InventoryChangesResponse;
 import com.groceryapp.dto.response.inventory.InventoryResponse;
 import com.groceryapp.exception.ServiceException;
 import com.groceryapp.model.Brand;
@@ -12,17 +14,37 @@ import com.groceryapp.repository.BrandRepository;
 import com.groceryapp.repository.CategoryRepository;
 import com.groceryapp.repository.InventoryRepository;
 import com.groceryapp.repository.ItemRepository;
+import com.groceryapp.repository.projection.InventoryChangeRow;
+import com.groceryapp.service.ReservationService;
+import com.groceryapp.service.catalog.CatalogCache;
+import com.groceryapp.service.inventory.ChangeToken;
+import com.groceryapp.service.inventory.InventoryChangeFeed;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.search.InventorySearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +62,27 @@ public class InventoryServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private InventorySearchIndex searchIndex;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private InventoryVersions inventoryVersions;
+
+    @Mock
+    private InventoryChangeFeed changeFeed;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AsyncTaskExecutor inventoryTaskExecutor;
+
     @InjectMocks
     private InventoryServiceImpl inventoryService;
 
@@ -51,6 +94,13 @@ public class InventoryServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(inventoryTaskExecutor).execute(any(Runnable.class));
+
         brand = new Brand();
         brand.setId(1L);
         brand.setName("TestBrand");
@@ -80,17 +130,9 @@ public class InventoryServiceImplTest {
 
     @Test
     void testAddInventory_NewItem() {
-        when(brandRepository.findByName("TestBrand")).thenReturn(Optional.of(brand));
-        when(categoryRepository.findByName("TestCategory")).thenReturn(Optional.of(category));
-        when(itemRepository.findByCategoryAndBrand(category, brand)).thenReturn(Optional.empty());
-        when(itemRepository.save(any(Item.class))).thenReturn(item);
-        when(inventoryRepository.findByItem(item)).thenReturn(Optional.empty());
-
-        Inventory savedInventory = new Inventory();
-        savedInventory.setItem(item);
-        savedInventory.setQuantity(5);
-        savedInventory.setStatus(InventoryStatus.AVAILABLE);
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(savedInventory);
+        when(catalogCache.brandId("TestBrand")).thenReturn(1L);
+        when(catalogCache.categoryId("TestCategory")).thenReturn(1L);
+        when(inventoryRepository.findByItemBrandIdAndItemCategoryId(1L, 1L)).thenReturn(Optional.of(inventory));
 
         InventoryResponse response = inventoryService.addInventory(request);
 
@@ -100,31 +142,24 @@ public class InventoryServiceImplTest {
         assertEquals(5, response.getQuantity());
         assertEquals(InventoryStatus.AVAILABLE, response.getStatus());
 
-        verify(brandRepository).findByName("TestBrand");
-        verify(categoryRepository).findByName("TestCategory");
-        verify(itemRepository).findByCategoryAndBrand(category, brand);
-        verify(itemRepository).save(any(Item.class));
-        verify(inventoryRepository).findByItem(any(Item.class));
-        verify(inventoryRepository).save(any(Inventory.class));
+        verify(itemRepository).upsert(eq(1L), eq(1L), eq(10.0), any(LocalDateTime.class));
+        verify(inventoryRepository).upsertQuantity(eq(1L), eq(1L), eq(5), any(LocalDateTime.class));
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verifyNoInteractions(brandRepository, categoryRepository);
+        verify(searchIndex).update(inventory);
     }
 
     @Test
     void testAddInventory_UpdateExistingInventory() {
-        when(brandRepository.findByName("TestBrand")).thenReturn(Optional.of(brand));
-        when(categoryRepository.findByName("TestCategory")).thenReturn(Optional.of(category));
-        when(itemRepository.findByCategoryAndBrand(category, brand)).thenReturn(Optional.of(item));
-
-        Inventory existingInventory = new Inventory();
-        existingInventory.setItem(item);
-        existingInventory.setQuantity(10);
-        existingInventory.setStatus(InventoryStatus.AVAILABLE);
-        when(inventoryRepository.findByItem(item)).thenReturn(Optional.of(existingInventory));
+        when(catalogCache.brandId("TestBrand")).thenReturn(1L);
+        when(catalogCache.categoryId("TestCategory")).thenReturn(1L);
 
         Inventory updatedInventory = new Inventory();
         updatedInventory.setItem(item);
         updatedInventory.setQuantity(15);
         updatedInventory.setStatus(InventoryStatus.AVAILABLE);
-        when(inventoryRepository.save(any(Inventory.class))).thenReturn(updatedInventory);
+        when(inventoryRepository.findByItemBrandIdAndItemCategoryId(1L, 1L)).thenReturn(Optional.of(updatedInventory));
 
         InventoryResponse response = inventoryService.addInventory(request);
 
@@ -134,32 +169,53 @@ public class InventoryServiceImplTest {
         assertEquals(15, response.getQuantity());
         assertEquals(InventoryStatus.AVAILABLE, response.getStatus());
 
-        verify(brandRepository).findByName("TestBrand");
-        verify(categoryRepository).findByName("TestCategory");
-        verify(itemRepository).findByCategoryAndBrand(category, brand);
-        verify(inventoryRepository).findByItem(item);
-        verify(inventoryRepository).save(any(Inventory.class));
+        verify(catalogCache).brandId("TestBrand");
+        verify(catalogCache).categoryId("TestCategory");
+        verify(inventoryRepository).upsertQuantity(eq(1L), eq(1L), eq(5), any(LocalDateTime.class));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(searchIndex).update(updatedInventory);
+        verify(reservationService).restocked("TestBrand", "TestCategory", 5, 0L);
+        verify(inventoryVersions).bump("TestBrand", "TestCategory");
+        verify(changeFeed).publish("TestBrand", "TestCategory", 10, 15);
     }
 
     @Test
-    void testGetAllInventory() throws Exception {
-        // Arrange
-        Inventory inventory1 = new Inventory();
-        inventory1.setItem(item);
-        inventory1.setQuantity(5);
-        inventory1.setStatus(InventoryStatus.AVAILABLE);
+    void testAddInventory_PaddedNames_AreTrimmedForCatalogAndVersions() {
+        request.setBrand(" TestBrand ");
+        request.setCategory("TestCategory ");
+        when(catalogCache.brandId("TestBrand")).thenReturn(1L);
+        when(catalogCache.categoryId("TestCategory")).thenReturn(1L);
+        when(inventoryRepository.findByItemBrandIdAndItemCategoryId(1L, 1L)).thenReturn(Optional.of(inventory));
+
+        InventoryResponse response = inventoryService.addInventory(request);
+
+        assertEquals("TestBrand", response.getBrand());
+        verify(inventoryVersions).bump("TestBrand", "TestCategory");
+        verify(reservationService).restocked("TestBrand", "TestCategory", 5, 0L);
+    }
 
-        Item item2 = new Item();
-        item2.setBrand(brand);
-        item2.setCategory(category);
-        item2.setPrice(20.0);
+    @Test
+    void testAddInventory_DuplicateKeyRace_RetriesWrite() {
+        when(catalogCache.brandId("TestBrand")).thenReturn(1L);
+        when(catalogCache.categoryId("TestCategory")).thenReturn(1L);
+        when(inventoryRepository.upsertQuantity(eq(1L), eq(1L), eq(5), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_inventory_item")).thenReturn(1);
+        when(inventoryRepository.findByItemBrandIdAndItemCategoryId(1L, 1L)).thenReturn(Optional.of(inventory));
 
-        Inventory inventory2 = new Inventory();
-        inventory2.setItem(item2);
-        inventory2.setQuantity(0);
-        inventory2.setStatus(InventoryStatus.OUT_OF_STOCK);
-        when(inventoryRepository.findAll()).thenReturn(Arrays.asList(inventory1, inventory2));
+        InventoryResponse response = inventoryService.addInventory(request);
 
+        assertEquals(5, response.getQuantity());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(itemRepository, times(2)).upsert(eq(1L), eq(1L), eq(10.0), any(LocalDateTime.class));
+        verify(reservationService, times(1)).restocked("TestBrand", "TestCategory", 5, 0L);
+    }
+
+    @Test
+    void testGetAllInventory() throws Exception {
+        // Arrange
+        when(inventoryRepository.streamInventoryResponses()).thenReturn(Stream.of(
+                new InventoryResponse("TestBrand", "TestCategory", 5, InventoryStatus.AVAILABLE),
+                new InventoryResponse("TestBrand", "TestCategory", 0, InventoryStatus.OUT_OF_STOCK)));
 
         List<InventoryResponse> responses = inventoryService.getAllInventory().get();
 
@@ -176,7 +232,154 @@ public class InventoryServiceImplTest {
         assertEquals(0, responses.get(1).getQuantity());
         assertEquals(InventoryStatus.OUT_OF_STOCK, responses.get(1).getStatus());
 
-        verify(inventoryRepository).findAll();
+        verify(inventoryRepository).streamInventoryResponses();
+        verify(inventoryRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllInventory_CancelledBeforeStartSkipsQuery() {
+        List<Runnable> queued = new ArrayList<>();
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(inventoryTaskExecutor)
+                .execute(any(Runnable.class));
+
+        CompletableFuture<List<InventoryResponse>> responses = inventoryService.getAllInventory();
+        responses.cancel(false);
+        queued.forEach(Runnable::run);
+
+        assertTrue(responses.isCancelled());
+        verify(inventoryRepository, never()).streamInventoryResponses();
+    }
+
+    @Test
+    void testGetAllInventory_ExecutorSaturated_FailsFastWithServiceBusy() {
+        doThrow(new TaskRejectedException("queue full")).when(inventoryTaskExecutor).execute(any(Runnable.class));
+
+        ServiceException exception = assertThrows(ServiceException.class, () -> inventoryService.getAllInventory());
+
+        assertEquals(ErrorCode.SERVICE_BUSY, exception.getErrorCode());
+        verify(inventoryRepository, never()).streamInventoryResponses();
+    }
+
+    @Test
+    void testGetAllInventory_CancelledWhileReadingClosesCursor() {
+        List<Runnable> queued = new ArrayList<>();
+        doAnswer(invocation -> queued.add(invocation.getArgument(0))).when(inventoryTaskExecutor)
+                .execute(any(Runnable.class));
+        CompletableFuture<List<InventoryResponse>> responses = inventoryService.getAllInventory();
+        List<InventoryResponse> read = new ArrayList<>();
+        boolean[] closed = new boolean[1];
+        when(inventoryRepository.streamInventoryResponses()).thenReturn(Stream.iterate(0, i -> i + 1)
+                .map(i -> new InventoryResponse("TestBrand", "TestCategory", i, InventoryStatus.AVAILABLE))
+                .peek(item -> {
+                    read.add(item);
+                    if (read.size() == 3) {
+                        responses.cancel(false);
+                    }
+                }).onClose(() -> closed[0] = true));
+
+        queued.forEach(Runnable::run);
+
+        assertTrue(responses.isCancelled());
+        assertEquals(3, read.size());
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    void testStreamAllInventory_PassesEveryRowToConsumer() {
+        when(inventoryRepository.streamInventoryResponses()).thenReturn(Stream.of(
+                new InventoryResponse("TestBrand", "TestCategory", 5, InventoryStatus.AVAILABLE),
+                new InventoryResponse("OtherBrand", "TestCategory", 0, InventoryStatus.OUT_OF_STOCK)));
+
+        List<InventoryResponse> streamed = new ArrayList<>();
+        inventoryService.streamAllInventory(streamed::add);
+
+        assertEquals(List.of("TestBrand", "OtherBrand"), streamed.stream().map(InventoryResponse::getBrand).toList());
+        verify(inventoryRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetInventoryChanges_FullPage_ReturnsTokenOfLastRowAndHasMore() {
+        LocalDateTime changedAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+        when(inventoryRepository.findChangesAfter(eq(ChangeToken.START.updatedAt()), eq(0L), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(changeRow(4L, changedAt), changeRow(7L, changedAt), changeRow(9L, changedAt)));
+
+        InventoryChangesResponse response = inventoryService.getInventoryChanges(null, 2);
+
+        assertEquals(2, response.getChanges().size());
+        assertTrue(response.getHasMore());
+        assertEquals(new ChangeToken(changedAt, 7L), ChangeToken.decode(response.getNextToken()));
+    }
+
+    @Test
+    void testGetInventoryChanges_NoChanges_ReturnsSameToken() {
+        ChangeToken since = new ChangeToken(LocalDateTime.of(2025, 1, 1, 9, 0, 0, 123_456_000), 7L);
+        when(inventoryRepository.findChangesAfter(eq(since.updatedAt()), eq(7L), any(), any())).thenReturn(List.of());
+
+        InventoryChangesResponse response = inventoryService.getInventoryChanges(since.encode(), 500);
+
+        assertTrue(response.getChanges().isEmpty());
+        assertFalse(response.getHasMore());
+        assertEquals(since, ChangeToken.decode(response.getNextToken()));
+    }
+
+    @Test
+    void testGetInventoryChanges_InvalidTokenOrLimit_Throws() {
+        ServiceException invalidToken = assertThrows(ServiceException.class,
+                () -> inventoryService.getInventoryChanges("not-a-token", 500));
+        assertEquals(ErrorCode.INVALID_REQUEST, invalidToken.getErrorCode());
+        assertThrows(ServiceException.class, () -> inventoryService.getInventoryChanges(null, 0));
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddInventoryBatch_MergesDuplicatesAndCreatesMissingRows() {
+        when(brandRepository.findByNameIn(any())).thenReturn(List.of(brand));
+        when(categoryRepository.findByNameIn(any())).thenReturn(List.of(category));
+        when(itemRepository.findByBrandInAndCategoryIn(any(), any())).thenReturn(List.of(item));
+        when(inventoryRepository.findByItemIn(List.of(item))).thenReturn(List.of(inventory));
+        when(brandRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(inventoryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InventoryBatchResponse response = inventoryService.addInventoryBatch(List.of(
+                new InventoryRequest("TestBrand", "TestCategory", 12.0, 2),
+                new InventoryRequest("TestBrand", "TestCategory", null, 3),
+                new InventoryRequest("NewBrand", "TestCategory", 7.0, 4)));
+
+        assertEquals(3, response.getReceived());
+        assertEquals(2, response.getItems());
+        assertEquals(1, response.getBrandsCreated());
+        assertEquals(0, response.getCategoriesCreated());
+        assertEquals(1, response.getItemsCreated());
+        assertEquals(10, inventory.getQuantity());
+        assertEquals(12.0, item.getPrice());
+
+        ArgumentCaptor<List<Inventory>> saved = ArgumentCaptor.forClass(List.class);
+        verify(inventoryRepository).saveAll(saved.capture());
+        Inventory created = saved.getValue().get(1);
+        assertEquals("NewBrand", created.getItem().getBrand().getName());
+        assertEquals(4, created.getQuantity());
+        assertEquals(InventoryStatus.AVAILABLE, created.getStatus());
+        verify(searchIndex, times(2)).update(any(Inventory.class));
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(inventoryVersions).bump("TestBrand", "TestCategory");
+        verify(inventoryVersions).bump("NewBrand", "TestCategory");
+        verify(changeFeed).publish("TestBrand", "TestCategory", 5, 10);
+        verify(changeFeed).publish("NewBrand", "TestCategory", 0, 4);
+    }
+
+    @Test
+    void testAddInventoryBatch_InvalidRequest_RejectsWholeBatch() {
+        List<InventoryRequest> requests = List.of(new InventoryRequest("TestBrand", "TestCategory", 10.0, 5),
+                new InventoryRequest("TestBrand", "TestCategory", 10.0, 0));
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> inventoryService.addInventoryBatch(requests));
+
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verifyNoInteractions(brandRepository, categoryRepository, itemRepository, inventoryRepository);
     }
 
     @Test
@@ -190,5 +393,10 @@ public class InventoryServiceImplTest {
         assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
         assertTrue(exception.getMessage().contains("Quantity to add must be greater than zero"));
         verify(inventoryRepository, never()).save(any(Inventory.class));
+        verifyNoInteractions(catalogCache);
+    }
+
+    private static InventoryChangeRow changeRow(long id, LocalDateTime updatedAt) {
+        return new InventoryChangeRow(id, "TestBrand", "TestCategory", 10.0, 5, InventoryStatus.AVAILABLE, updatedAt);
     }
 }
@@ -0,0 +1,248 @@
+package com.groceryapp.service.serviceImpl;
+
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.constant.inventory.InventoryStatus;
+import com.groceryapp.constant.inventory.ReservationStatus;
+import com.groceryapp.dto.request.reservation.ReservationRequest;
+import com.groceryapp.dto.response.reservation.ReservationResponse;
+import com.groceryapp.exception.ServiceException;
+import com.groceryapp.model.Inventory;
+import com.groceryapp.model.Item;
+import com.groceryapp.repository.InventoryRepository;
+import com.groceryapp.repository.ItemRepository;
+import com.groceryapp.service.inventory.InventoryChangeFeed;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.search.InventorySearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationServiceImplTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private InventorySearchIndex searchIndex;
+
+    @Mock
+    private InventoryVersions inventoryVersions;
+
+    @Mock
+    private InventoryChangeFeed changeFeed;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationServiceImpl reservationService;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new ReservationServiceImpl(inventoryRepository, itemRepository, searchIndex,
+                inventoryVersions, changeFeed, transactionManager, TTL, Duration.ofMillis(100), Duration.ofMillis(200));
+
+        item = new Item();
+        item.setId(3L);
+        Inventory inventory = new Inventory();
+        inventory.setItem(item);
+        inventory.setQuantity(5);
+        inventory.setStatus(InventoryStatus.AVAILABLE);
+        inventory.setStockVersion(2);
+        lenient().when(inventoryRepository.findByItemBrandNameAndItemCategoryName("Amul", "Milk"))
+                .thenReturn(Optional.of(inventory));
+    }
+
+    @Test
+    void testReserve_TakesStockWithoutWritingInventory() {
+        ReservationResponse response = reservationService.reserve(request(3));
+
+        assertEquals(ReservationStatus.RESERVED, response.getStatus());
+        assertNotNull(response.getReservationId());
+        assertNotNull(response.getExpiresAt());
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationService.reserve(request(3)));
+        assertEquals(ErrorCode.INSUFFICIENT_INVENTORY, exception.getErrorCode());
+
+        verify(inventoryRepository, times(1)).findByItemBrandNameAndItemCategoryName("Amul", "Milk");
+        verify(inventoryRepository, never()).incrementQuantity(any(), anyInt(), any());
+    }
+
+    @Test
+    void testRelease_ReturnsStockAndSettlesOnce() {
+        ReservationResponse reserved = reservationService.reserve(request(5));
+
+        ReservationResponse released = reservationService.release(reserved.getReservationId());
+
+        assertEquals(ReservationStatus.RELEASED, released.getStatus());
+        assertEquals(ReservationStatus.RESERVED, reservationService.reserve(request(5)).getStatus());
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationService.release(reserved.getReservationId()));
+        assertEquals(ErrorCode.RESERVATION_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void testTick_ExpiresUnconfirmedReservationsOnly() {
+        ReservationResponse confirmed = reservationService.reserve(request(2));
+        ReservationResponse abandoned = reservationService.reserve(request(3));
+        reservationService.confirm(confirmed.getReservationId());
+
+        reservationService.tick(System.nanoTime() + TTL.toNanos() + Duration.ofSeconds(1).toNanos());
+
+        assertThrows(ServiceException.class, () -> reservationService.release(abandoned.getReservationId()));
+        assertEquals(ReservationStatus.RESERVED, reservationService.reserve(request(3)).getStatus());
+        assertThrows(ServiceException.class, () -> reservationService.reserve(request(1)));
+    }
+
+    @Test
+    void testFlush_WritesNetChangeOnce() {
+        when(itemRepository.getReferenceById(3L)).thenReturn(item);
+        Inventory flushed = new Inventory();
+        flushed.setItem(item);
+        flushed.setQuantity(2);
+        when(inventoryRepository.findByItem(item)).thenReturn(Optional.of(flushed));
+        when(inventoryRepository.decrementQuantity(eq(item), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        ReservationResponse first = reservationService.reserve(request(2));
+        reservationService.reserve(request(3));
+        reservationService.release(first.getReservationId());
+
+        reservationService.flush();
+        reservationService.flush();
+
+        verify(inventoryRepository, times(1)).decrementQuantity(eq(item), eq(3), any(LocalDateTime.class));
+        verify(inventoryRepository, never()).incrementQuantity(any(), anyInt(), any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(inventoryVersions, times(1)).bump("Amul", "Milk");
+        verify(changeFeed, times(1)).publish("Amul", "Milk", 5, 2);
+    }
+
+    @Test
+    void testFlush_FailedWrite_IsRetried() {
+        when(itemRepository.getReferenceById(3L)).thenReturn(item);
+        when(inventoryRepository.decrementQuantity(eq(item), eq(2), any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("database unavailable")).thenReturn(1);
+        reservationService.reserve(request(2));
+
+        reservationService.flush();
+        reservationService.flush();
+
+        verify(inventoryRepository, times(2)).decrementQuantity(eq(item), eq(2), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testFlush_DecrementRowCannotCover_IsRolledBackAndRetried() {
+        when(itemRepository.getReferenceById(3L)).thenReturn(item);
+        when(inventoryRepository.decrementQuantity(eq(item), eq(2), any(LocalDateTime.class))).thenReturn(0, 1);
+        reservationService.reserve(request(2));
+
+        reservationService.flush();
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(inventoryVersions, changeFeed);
+
+        reservationService.flush();
+        verify(inventoryRepository, times(2)).decrementQuantity(eq(item), eq(2), any(LocalDateTime.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testFlush_FailedPublishAfterCommit_IsNotWrittenAgain() {
+        when(itemRepository.getReferenceById(3L)).thenReturn(item);
+        Inventory flushed = new Inventory();
+        flushed.setItem(item);
+        flushed.setQuantity(3);
+        when(inventoryRepository.findByItem(item)).thenReturn(Optional.of(flushed));
+        when(inventoryRepository.decrementQuantity(eq(item), eq(2), any(LocalDateTime.class))).thenReturn(1);
+        doThrow(new IllegalStateException("emitter closed")).when(changeFeed).publish("Amul", "Milk", 5, 3);
+        reservationService.reserve(request(2));
+
+        reservationService.flush();
+        reservationService.flush();
+
+        verify(inventoryRepository, times(1)).decrementQuantity(eq(item), eq(2), any(LocalDateTime.class));
+        verify(inventoryVersions, times(1)).bump("Amul", "Milk");
+    }
+
+    @Test
+    void testRestocked_AddsToLoadedCounter() {
+        reservationService.reserve(request(5));
+        reservationService.restocked("Amul", "Milk", 4, 3);
+        reservationService.restocked("Unknown", "Milk", 4, 1);
+
+        assertEquals(ReservationStatus.RESERVED, reservationService.reserve(request(4)).getStatus());
+        verify(inventoryRepository, never()).findByItemBrandNameAndItemCategoryName("Unknown", "Milk");
+    }
+
+    @Test
+    void testRestocked_HookAfterCounterSeededFromCommittedRestock_IsNotCountedTwice() {
+        // The restock that brought the row to version 2 committed, then the first reservation seeded the counter from
+        // that row before the restock's after-commit hook ran.
+        reservationService.reserve(request(1));
+        reservationService.restocked("Amul", "Milk", 4, 2);
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationService.reserve(request(5)));
+        assertEquals(ErrorCode.INSUFFICIENT_INVENTORY, exception.getErrorCode());
+        assertEquals(ReservationStatus.RESERVED, reservationService.reserve(request(4)).getStatus());
+    }
+
+    @Test
+    void testRestocked_WhileFirstReservationSeedsCounter_IsApplied() throws Exception {
+        Inventory beforeRestock = new Inventory();
+        beforeRestock.setItem(item);
+        beforeRestock.setQuantity(5);
+        beforeRestock.setStockVersion(2);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch restocked = new CountDownLatch(1);
+        when(inventoryRepository.findByItemBrandNameAndItemCategoryName("Amul", "Milk")).thenAnswer(invocation -> {
+            reading.countDown();
+            assertTrue(restocked.await(5, TimeUnit.SECONDS));
+            return Optional.of(beforeRestock);
+        });
+
+        CompletableFuture<ReservationResponse> first = CompletableFuture
+                .supplyAsync(() -> reservationService.reserve(request(1)));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        reservationService.restocked("Amul", "Milk", 4, 3);
+        restocked.countDown();
+
+        assertEquals(ReservationStatus.RESERVED, first.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(ReservationStatus.RESERVED, reservationService.reserve(request(8)).getStatus());
+        verify(inventoryRepository, times(1)).findByItemBrandNameAndItemCategoryName("Amul", "Milk");
+    }
+
+    @Test
+    void testReserve_UnknownItem_ThrowsNotFound() {
+        when(inventoryRepository.findByItemBrandNameAndItemCategoryName("Tata", "Salt")).thenReturn(Optional.empty());
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> reservationService.reserve(new ReservationRequest("Tata", "Salt", 1)));
+
+        assertEquals(ErrorCode.INVENTORY_ITEM_NOT_FOUND, exception.getErrorCode());
+    }
+
+    private static ReservationRequest request(int quantity) {
+        return new ReservationRequest("Amul", "Milk", quantity);
+    }
+}
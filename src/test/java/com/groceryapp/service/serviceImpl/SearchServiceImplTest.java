@@ -1,21 +1,36 @@
 package com.groceryapp.service.serviceImpl;
 
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.constant.search.SearchEngine;
 import com.groceryapp.dto.response.common.PaginatedResponse;
+import com.groceryapp.exception.ServiceException;
 import com.groceryapp.dto.response.search.SearchResultItem;
 import com.groceryapp.model.Brand;
 import com.groceryapp.model.Category;
 import com.groceryapp.model.Inventory;
 import com.groceryapp.model.Item;
 import com.groceryapp.repository.InventoryRepository;
+import com.groceryapp.repository.projection.InventorySearchRow;
+import com.groceryapp.service.inventory.InventoryVersions;
+import com.groceryapp.service.search.InventorySearchIndex;
+import com.groceryapp.service.search.SearchCursor;
+import com.groceryapp.service.search.SearchMetrics;
+import com.groceryapp.service.search.SearchResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -23,6 +38,9 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +49,21 @@ public class SearchServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
+    @Mock
+    private InventorySearchIndex searchIndex;
+
+    @Spy
+    private InventoryVersions inventoryVersions = new InventoryVersions();
+
+    @Spy
+    private SearchResultCache searchCache = new SearchResultCache(inventoryVersions, false, DataSize.ofMegabytes(1),
+            DataSize.ofKilobytes(64));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(meterRegistry, SearchEngine.SCAN);
+
     @InjectMocks
     private SearchServiceImpl searchService;
 
@@ -95,6 +128,8 @@ public class SearchServiceImplTest {
         milkInventory.setQuantity(50);
 
         testInventory = Arrays.asList(appleInventory, orangeInventory, milkInventory);
+
+        ReflectionTestUtils.setField(searchService, "engine", SearchEngine.SCAN);
     }
 
     @Test
@@ -146,6 +181,22 @@ public class SearchServiceImplTest {
         verify(inventoryRepository).findAll();
     }
 
+    @Test
+    void testSearchItems_RecordsPhaseTimersAndRowCountsByShape() {
+        when(inventoryRepository.findAll()).thenReturn(testInventory);
+
+        searchService.searchItems(List.of("Apple"), null, null, 5.0, PageRequest.of(0, 10,
+                Sort.by(Sort.Direction.DESC, "quantity")));
+
+        for (String phase : List.of("total", "load", "filter", "sort", "page")) {
+            assertEquals(1, meterRegistry.get("search.phase").tag("phase", phase).tag("engine", "scan")
+                    .tag("filter", "brand+price").tag("sort", "quantity").timer().count(), phase);
+        }
+        assertEquals(3, meterRegistry.get("search.rows.scanned").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("search.rows.matched").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("search.rows.returned").summary().totalAmount());
+    }
+
     @Test
     void testSearchItems_ByPriceRange_ReturnsFilteredItems() {
         when(inventoryRepository.findAll()).thenReturn(testInventory);
@@ -223,4 +274,141 @@ public class SearchServiceImplTest {
         verify(inventoryRepository).findAll();
     }
 
-}
\ No newline at end of file
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchItems_DatabaseEngine_ReturnsRequestedPage() {
+        ReflectionTestUtils.setField(searchService, "engine", SearchEngine.DATABASE);
+        when(inventoryRepository.findSearchRows(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row(orangeInventory)), PageRequest.of(1, 1), 3));
+
+        Pageable pageable = PageRequest.of(1, 1, Sort.by(Sort.Direction.ASC, "price"));
+
+        PaginatedResponse<SearchResultItem> response = searchService.searchItems(
+                null, null, null, null, pageable);
+
+        assertEquals(3, response.getTotalResults());
+        assertEquals(3, response.getTotalPages());
+        assertEquals(1, response.getCurrentPage());
+        assertEquals(1, response.getResults().size());
+        assertEquals("Orange", response.getResults().get(0).getBrand());
+        assertEquals(SearchCursor.of(Sort.Order.asc("price"), orangeInventory).encode(), response.getNextCursor());
+
+        verify(inventoryRepository, never()).findAll();
+        verify(inventoryRepository, never()).count();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchItems_DatabaseEngine_NoMatches_ThrowsItemNotFound() {
+        ReflectionTestUtils.setField(searchService, "engine", SearchEngine.DATABASE);
+        when(inventoryRepository.findSearchRows(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(new ArrayList<>(), PageRequest.of(0, 10), 0));
+        when(inventoryRepository.count()).thenReturn(3L);
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "price"));
+
+        ServiceException exception = assertThrows(ServiceException.class, () -> searchService.searchItems(
+                Collections.singletonList("Unknown"), null, null, null, pageable));
+
+        assertEquals(ErrorCode.ITEM_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void testSearchItems_IndexEngine_AnswersFromIndex() {
+        ReflectionTestUtils.setField(searchService, "engine", SearchEngine.INDEX);
+        SearchResultItem milk = SearchResultItem.builder().brand("Dairy Farm").category("Dairy").price(4.99)
+                .quantity(50).build();
+        when(searchIndex.size()).thenReturn(3);
+        when(searchIndex.search(any(), any(), any(), any(), any(), any(), isNull()))
+                .thenReturn(new InventorySearchIndex.IndexPage(List.of(milk), 1, null, 1));
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "price"));
+
+        PaginatedResponse<SearchResultItem> response = searchService.searchItems(
+                null, Collections.singletonList("Dairy"), null, null, pageable);
+
+        assertEquals(1, response.getTotalResults());
+        assertEquals("Dairy Farm", response.getResults().get(0).getBrand());
+
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchItems_DatabaseEngine_WithCursor_SeeksWithoutCounting() {
+        ReflectionTestUtils.setField(searchService, "engine", SearchEngine.DATABASE);
+        when(inventoryRepository.findSearchRows(any(Specification.class), eq(2)))
+                .thenReturn(List.of(row(orangeInventory), row(milkInventory)));
+
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "price"));
+        String cursor = SearchCursor.of(Sort.Order.asc("price"), appleInventory).encode();
+
+        PaginatedResponse<SearchResultItem> response = searchService.searchItems(null, null, null, null, pageable,
+                cursor);
+
+        assertEquals(1, response.getResults().size());
+        assertEquals("Orange", response.getResults().get(0).getBrand());
+        assertNull(response.getTotalResults());
+        assertEquals(SearchCursor.of(Sort.Order.asc("price"), orangeInventory).encode(), response.getNextCursor());
+
+        verify(inventoryRepository, never()).findSearchRows(any(Specification.class), any(Pageable.class));
+        verify(inventoryRepository, never()).count();
+    }
+
+    @Test
+    void testSearchItems_ScanEngine_WithCursor_ContinuesAfterLastRow() {
+        when(inventoryRepository.findAll()).thenReturn(testInventory);
+
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "quantity"));
+        String cursor = SearchCursor.of(Sort.Order.desc("quantity"), appleInventory).encode();
+
+        PaginatedResponse<SearchResultItem> first = searchService.searchItems(null, null, null, null, pageable,
+                cursor);
+        PaginatedResponse<SearchResultItem> last = searchService.searchItems(null, null, null, null, pageable,
+                first.getNextCursor());
+
+        assertEquals("Orange", first.getResults().get(0).getBrand());
+        assertEquals("Dairy Farm", last.getResults().get(0).getBrand());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void testSearchItems_CursorForDifferentSort_ThrowsInvalidRequest() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "price"));
+        String cursor = SearchCursor.of(Sort.Order.desc("quantity"), appleInventory).encode();
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> searchService.searchItems(null, null, null, null, pageable, cursor));
+
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void testSearchItems_MalformedCursor_ThrowsInvalidRequest() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "price"));
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> searchService.searchItems(null, null, null, null, pageable, "not-a-cursor"));
+
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+    }
+
+    @Test
+    void testSearchItems_QuantityCursorWithoutKey_ThrowsInvalidRequest() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "quantity"));
+        String cursor = new SearchCursor("quantity", Sort.Direction.DESC, null, appleInventory.getId()).encode();
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> searchService.searchItems(null, null, null, null, pageable, cursor));
+
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    private static InventorySearchRow row(Inventory inventory) {
+        return new InventorySearchRow(inventory.getId(), inventory.getItem().getBrand().getName(),
+                inventory.getItem().getCategory().getName(), inventory.getItem().getPrice(), inventory.getQuantity());
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.groceryapp.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedTaskExecutorTest {
+
+    private final BoundedTaskExecutor executor = new BoundedTaskExecutor("bounded-test-", 2, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void testExecute_BeyondLimitAndQueue_RejectedWithoutBlockingAndRunsAtMostLimitAtOnce() throws Exception {
+        executor.setVirtualThreads(true);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch finished = new CountDownLatch(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Runnable task = () -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                finished.countDown();
+            }
+        };
+
+        executor.execute(task);
+        executor.execute(task);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(task);
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(task));
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(2, peak.get());
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.groceryapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void testExecute_ConcurrentCallersForSameKey_ShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        List<Future<Integer>> results = runConcurrently(() -> {
+            executions.incrementAndGet();
+            return 42;
+        });
+
+        for (Future<Integer> result : results) {
+            assertEquals(42, result.get());
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1L, singleFlight.stats().get("executed"));
+        assertEquals((long) CALLERS - 1, singleFlight.stats().get("coalesced"));
+        assertEquals(0, singleFlight.stats().get("inFlight"));
+    }
+
+    @Test
+    void testExecute_FailedExecution_RethrowsToEveryWaiterAndFreesKey() throws Exception {
+        IllegalStateException failure = new IllegalStateException("search failed");
+        List<Future<Integer>> results = runConcurrently(() -> {
+            throw failure;
+        });
+
+        for (Future<Integer> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(7, singleFlight.execute("promo", () -> 7));
+    }
+
+    @Test
+    void testExecute_DifferentKeys_RunIndependently() {
+        assertEquals(1, singleFlight.execute("a", () -> 1));
+        assertEquals(2, singleFlight.execute("b", () -> 2));
+        assertEquals(2L, singleFlight.stats().get("executed"));
+        assertEquals(0L, singleFlight.stats().get("coalesced"));
+    }
+
+    /**
+     * Starts every caller, holds the first execution open until all of them have joined the flight, then lets it
+     * finish.
+     */
+    private List<Future<Integer>> runConcurrently(Supplier<Integer> call) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("promo", () -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return call.get();
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.stats().get("coalesced").longValue() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException ignored) {
+                    // checked by the caller
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.groceryapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    private static final long TICK = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void testAdvance_ExpiresOnlyDueTimeouts() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(100), 8, 0);
+        wheel.schedule("a", 3 * TICK);
+        wheel.schedule("b", 5 * TICK);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(3 * TICK, expired::add);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(5 * TICK, expired::add);
+        assertEquals(List.of("a", "b"), expired);
+    }
+
+    @Test
+    void testAdvance_DeadlineBeyondOneRevolution_WaitsForItsRound() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(100), 8, 0);
+        wheel.schedule("late", 19 * TICK);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(18 * TICK, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(19 * TICK, expired::add);
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void testSchedule_PastDeadline_ExpiresWithinTwoTicks() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(100), 8, 0);
+        wheel.advance(10 * TICK, value -> fail("nothing scheduled"));
+        wheel.schedule("overdue", 2 * TICK);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(12 * TICK, expired::add);
+
+        assertEquals(List.of("overdue"), expired);
+    }
+
+    @Test
+    void testConstructor_WheelSizeNotPowerOfTwo_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(Duration.ofMillis(100), 10, 0));
+    }
+}
@@ -0,0 +1,39 @@
+package com.groceryapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopKSelectorTest {
+
+    private record Row(int key, int sequence) {
+    }
+
+    @Test
+    void testSelect_MatchesStableSortPrefix() {
+        Random random = new Random(42);
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            rows.add(new Row(random.nextInt(50), i));
+        }
+        Comparator<Row> comparator = Comparator.comparingInt(Row::key);
+
+        for (int k : new int[] { 1, 10, 100, 2_000, 2_500, 10_000, 20_000 }) {
+            List<Row> expected = rows.stream().sorted(comparator).limit(k).toList();
+            assertEquals(expected, TopKSelector.select(rows, k, comparator), "k=" + k);
+            assertEquals(rows.stream().sorted(comparator.reversed()).limit(k).toList(),
+                    TopKSelector.select(rows, k, comparator.reversed()), "reversed k=" + k);
+        }
+    }
+
+    @Test
+    void testSelect_EmptyInputOrZeroK_ReturnsEmptyList() {
+        assertTrue(TopKSelector.select(List.<Row> of(), 10, Comparator.comparingInt(Row::key)).isEmpty());
+        assertTrue(TopKSelector.select(List.of(new Row(1, 0)), 0, Comparator.comparingInt(Row::key)).isEmpty());
+    }
+}
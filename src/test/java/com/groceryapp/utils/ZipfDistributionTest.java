@@ -0,0 +1,51 @@
+package com.groceryapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZipfDistributionTest {
+
+    @Test
+    void testProbability_IsProportionalToInverseRankPower() {
+        ZipfDistribution zipf = new ZipfDistribution(100, 1.0);
+
+        double total = 0;
+        for (int rank = 0; rank < zipf.size(); rank++) {
+            total += zipf.probability(rank);
+        }
+        assertEquals(1.0, total, 1e-9);
+        assertEquals(2.0, zipf.probability(0) / zipf.probability(1), 1e-9);
+        assertEquals(10.0, zipf.probability(0) / zipf.probability(9), 1e-9);
+    }
+
+    @Test
+    void testSample_FollowsDistribution() {
+        ZipfDistribution zipf = new ZipfDistribution(1000, 1.2);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[zipf.size()];
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        for (int rank : new int[] { 0, 1, 10 }) {
+            assertEquals(zipf.probability(rank), (double) counts[rank] / samples, 0.01, "rank " + rank);
+        }
+    }
+
+    @Test
+    void testZeroExponent_IsUniform() {
+        ZipfDistribution zipf = new ZipfDistribution(4, 0);
+
+        assertEquals(0.25, zipf.probability(3), 1e-12);
+    }
+
+    @Test
+    void testConstructor_RejectsEmptyRangeOrNegativeExponent() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(10, -1.0));
+    }
+}
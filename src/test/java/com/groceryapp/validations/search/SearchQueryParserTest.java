@@ -0,0 +1,90 @@
+package com.groceryapp.validations.search;
+
+import com.groceryapp.constant.common.ErrorCode;
+import com.groceryapp.exception.ServiceException;
+import com.groceryapp.service.search.SearchQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchQueryParserTest {
+
+    private SearchQueryParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new SearchQueryParser(100);
+    }
+
+    @Test
+    void testParse_NormalizesFiltersAndResolvesSort() {
+        SearchQuery query = parser.parse(List.of("Amul", " Nestle ", "Amul", ""), null, 10.0, 20.0, "ItemQty", "DESC",
+                0, 10);
+
+        assertEquals(Set.of("Amul", "Nestle"), query.brands());
+        assertEquals(Set.of(), query.categories());
+        assertEquals(Sort.Order.desc("quantity"), query.order());
+        assertEquals("brand+price", query.shape().filter());
+    }
+
+    @Test
+    void testParse_RepeatedQuery_ReusesPlan() {
+        SearchQuery first = parser.parse(List.of("Amul"), List.of("Milk"), null, 50.0, "price", "asc", 0, 10);
+        SearchQuery second = parser.parse(List.of("Amul"), List.of("Milk"), null, 50.0, "price", "asc", 3, 20);
+
+        assertSame(first, second);
+        assertEquals(1L, parser.stats().get("plans"));
+        assertEquals(1L, parser.stats().get("hits"));
+    }
+
+    @Test
+    void testParse_ReorderedRepeatedOrPaddedNames_ReusePlan() {
+        SearchQuery first = parser.parse(List.of("Amul", "Nestle"), List.of("Milk"), null, null, "itemQty", null,
+                0, 10);
+        SearchQuery second = parser.parse(List.of(" Nestle", "Amul", "Amul "), List.of("Milk", ""), null, null,
+                "quantity", "ASC", 0, 10);
+
+        assertSame(first, second);
+        assertEquals(1L, parser.stats().get("plans"));
+    }
+
+    @Test
+    void testParse_InvalidDirectionForCachedPlan_IsRejected() {
+        parser.parse(List.of("Amul"), null, null, null, "price", "asc", 0, 10);
+
+        assertThrows(ServiceException.class,
+                () -> parser.parse(List.of("Amul"), null, null, null, "price", "up", 0, 10));
+    }
+
+    @Test
+    void testParse_InvalidParameters_ReportsEveryErrorOnce() {
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> parser.parse(null, null, -1.0, null, "name", "up", -1, 10));
+
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        assertEquals(4, exception.getMessage().split(", ").length);
+        assertEquals(0L, parser.stats().get("plans"));
+    }
+
+    @Test
+    void testParse_CachedPlanWithInvalidPage_IsRejected() {
+        parser.parse(List.of("Amul"), null, null, null, "price", "asc", 0, 10);
+
+        ServiceException exception = assertThrows(ServiceException.class,
+                () -> parser.parse(List.of("Amul"), null, null, null, "price", "asc", 0, 500));
+
+        assertEquals("Page size cannot exceed 100", exception.getMessage());
+    }
+
+    @Test
+    void testParse_FailedQuery_DoesNotLeakErrorsIntoNextQuery() {
+        assertThrows(ServiceException.class, () -> parser.parse(null, null, 30.0, 10.0, "price", "asc", 0, 10));
+
+        assertDoesNotThrow(() -> parser.parse(null, null, 10.0, 30.0, "price", "asc", 0, 10));
+    }
+}